@@ -2,6 +2,7 @@ package Controller;
 
 import Interfaces.Viewable;
 import Interfaces.Controllable;
+import Interfaces.ProgressListener;
 import Model.*;
 import Exceptions.*;
 import UI.UserAction;
@@ -10,6 +11,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class ControllerFacade implements Controllable {
     private final Viewable viewable;
@@ -48,78 +51,98 @@ public class ControllerFacade implements Controllable {
         }
     }
     @Override
+    public void driveGames(int size) throws IOException {
+        viewable.driveGames(size);
+    }
+    @Override
+    public BoardVerification verify(int[][] game) {
+        return viewable.verify(new Game(game, null));
+    }
+    @Override
+    public List<Move> solve(int[][] game) throws InvalidGameException {
+        return viewable.solve(new Game(game, null));
+    }
+    @Override
+    public CompletableFuture<BoardVerification> verifyAsync(int[][] game) {
+        return viewable.verifyAsync(new Game(game, null));
+    }
+    @Override
+    public CompletableFuture<List<Move>> solveAsync(int[][] game, long timeoutMillis, ProgressListener listener) {
+        return viewable.solveAsync(new Game(game, null), timeoutMillis, listener);
+    }
+    @Override
     public boolean[][] verifyGame(int[][] game) {
-        Game gameObj = new Game(game, null);
-        String result = viewable.verifyGame(gameObj);
-        boolean[][] cellValidity = new boolean[9][9];
-        for(int i = 0; i < 9; i++) {
-            for(int j = 0; j < 9; j++) {
-                cellValidity[i][j] = true;
-            }
-        }
-        if(result.startsWith("invalid")) {
-            String[] parts = result.split(" ");
-            for(int i = 1; i < parts.length; i++) {
-                String[] coords = parts[i].split(",");
-                if(coords.length == 2) {
-                    try {
-                        int row = Integer.parseInt(coords[0]);
-                        int col = Integer.parseInt(coords[1]);
-                        if(row >= 0 && row < 9 && col >= 0 && col < 9) {
-                            cellValidity[row][col] = false;
-                        }
-                    } catch (NumberFormatException e) {
-                        System.err.println("Invalid coordinate format: " + parts[i]);
-                    }
-                }
-            }
-        }
-        return cellValidity;
+        return verify(game).toCellValidity();
+    }
+    @Override
+    public CompletableFuture<boolean[][]> verifyGameAsync(int[][] game) {
+        CompletableFuture<BoardVerification> source = verifyAsync(game);
+        return linkCancellation(source, source.thenApply(BoardVerification::toCellValidity));
     }
     @Override
     public int[][] solveGame(int[][] game) throws InvalidGameException {
-        Game gameObj = new Game(game, null);
-        int[] solution = viewable.solveGame(gameObj);
-        if(solution == null || solution.length == 0) {
+        return toRows(solve(game));
+    }
+    @Override
+    public CompletableFuture<int[][]> solveGameAsync(int[][] game, long timeoutMillis, ProgressListener listener) {
+        CompletableFuture<List<Move>> source = solveAsync(game, timeoutMillis, listener);
+        return linkCancellation(source, source.thenApply(moves -> {
+            try {
+                return toRows(moves);
+            } catch (InvalidGameException e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+    private <T> CompletableFuture<T> linkCancellation(CompletableFuture<?> source, CompletableFuture<T> derived) {
+        derived.whenComplete((result, error) -> {
+            if(derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+    private int[][] toRows(List<Move> moves) throws InvalidGameException {
+        if(moves == null || moves.isEmpty()) {
             throw new InvalidGameException("No solution found");
         }
-        int[][] result = new int[solution.length][3];
-        for(int i = 0; i < solution.length; i++) {
-            int encoded = solution[i];
-            int row = encoded / 81;
-            int col = (encoded % 81) / 9;
-            int value = (encoded % 9) + 1;
-            result[i][0] = row;
-            result[i][1] = col;
-            result[i][2] = value;
+        int[][] result = new int[moves.size()][3];
+        for(int i = 0; i < moves.size(); i++) {
+            Move move = moves.get(i);
+            result[i][0] = move.getRow();
+            result[i][1] = move.getCol();
+            result[i][2] = move.getValue();
         }
         return result;
     }
     @Override
     public void logUserAction(UserAction userAction) throws IOException {
-        String logEntry = "(" + userAction.getRow() + ", " + userAction.getCol() +
-                ", " + userAction.getValue() + ", " + userAction.getPreviousValue() + ")";
-        viewable.logUserAction(logEntry);
+        viewable.logMove(new MoveRecord(userAction.getRow(), userAction.getCol(),
+                userAction.getValue(), userAction.getPreviousValue()));
     }
     private int[][] loadBoardFromFile(String filePath) throws IOException {
-        int[][] board = new int[9][9];
+        int[][] board;
         try {
             Path path = Paths.get(filePath);
             List<String> lines = Files.readAllLines(path);
+            lines.removeIf(line -> line.trim().isEmpty());
+            if(lines.isEmpty()) throw new IOException("File is empty: " + filePath);
+            int size = lines.get(0).split(",").length;
+            if(!BoardGeometry.isSupported(size)) throw new IOException("Unsupported board size: " + size);
+            board = new int[size][size];
 
             int row = 0;
             for(String line : lines) {
-                if(row >= 9) break;
-                if(line.trim().isEmpty()) continue;
+                if(row >= size) break;
                 String[] values = line.split(",");
-                for(int col = 0; col < 9 && col < values.length; col++) {
+                for(int col = 0; col < size && col < values.length; col++) {
                     String val = values[col].trim();
                     board[row][col] = val.isEmpty() ? 0 : Integer.parseInt(val);
                 }
                 row++;
             }
-            while(row < 9) {
-                for(int col = 0; col < 9; col++) {
+            while(row < size) {
+                for(int col = 0; col < size; col++) {
                     board[row][col] = 0;
                 }
                 row++;
@@ -1,5 +1,6 @@
 package Controller;
 
+import Interfaces.ProgressListener;
 import Interfaces.Viewable;
 import Model.*;
 import Service.*;
@@ -8,15 +9,76 @@ import Exceptions.*;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
-public class GameController implements Viewable {
+public class GameController implements Viewable, AutoCloseable {
+    private static final String JOURNAL_FILE = "moves.journal";
+    private static final String LEGACY_LOG_FILE = "log.txt";
+    public static final int DEFAULT_CHECKPOINT_MOVES = 64;
+    public static final long DEFAULT_CHECKPOINT_MILLIS = 30_000;
+    public static final SolverType DEFAULT_SOLVER_TYPE = SolverType.BITMASK;
     private Game currentGame;
     private final GameDriver gameDriver;
     private final String basePath = "games";
+    private SolverType solverType = DEFAULT_SOLVER_TYPE;
+    private final SolutionCache solutionCache = new SolutionCache();
+    private final SplittableRandom random = new SplittableRandom();
+    private final GamePrefetcher prefetcher;
+    private CompletableFuture<Void> pendingCurrentWrite = CompletableFuture.completedFuture(null);
+    private volatile Throwable currentWriteFailure;
+    private JournalDurability journalDurability = JournalDurability.GROUP_COMMIT;
+    private long groupCommitMillis = MoveJournal.DEFAULT_GROUP_COMMIT_MILLIS;
+    private MoveJournal journal;
+    private int checkpointMoves = DEFAULT_CHECKPOINT_MOVES;
+    private long checkpointMillis = DEFAULT_CHECKPOINT_MILLIS;
+    private int[][] journaledBoard;
+    private long undoableRecords;
+    private long lastCheckpointNanos;
+    private int generatedSize = BoardGeometry.STANDARD.getSize();
     public GameController() {
         this.gameDriver = new GameDriver();
+        this.prefetcher = new GamePrefetcher(Paths.get(basePath), GamePrefetcher.DEFAULT_CAPACITY,
+                GamePrefetcher.DEFAULT_LOW_WATER_MARK, random.split());
+        this.prefetcher.start();
+    }
+    public SolverType getSolverType() {
+        return solverType;
+    }
+    public void setSolverType(SolverType solverType) {
+        this.solverType = solverType;
+    }
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+    public JournalDurability getJournalDurability() {
+        return journalDurability;
+    }
+    public void setJournalDurability(JournalDurability durability, long groupCommitMillis) {
+        awaitCurrentWrite();
+        closeJournal();
+        this.journalDurability = durability;
+        this.groupCommitMillis = groupCommitMillis;
+    }
+    public int getEmptyCells(Difficulty difficulty) {
+        return GameDriver.emptyCellsFor(difficulty, generatedSize);
+    }
+    public int getCheckpointMoves() {
+        return checkpointMoves;
+    }
+    public long getCheckpointMillis() {
+        return checkpointMillis;
+    }
+    public void setCheckpointInterval(int moves, long millis) {
+        if(moves < 0 || millis < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative");
+        }
+        this.checkpointMoves = moves;
+        this.checkpointMillis = millis;
     }
     @Override
     public Catalog getCatalog() {
@@ -26,34 +88,55 @@ public class GameController implements Viewable {
     }
     @Override
     public Game getGame(Difficulty level) throws NotFoundException {
+        int[][] board = prefetcher.poll(level);
+        if(board == null) board = loadRandomGame(level);
+        Game game = new Game(board, level);
+        this.currentGame = game;
+        int[][] initialBoard = board;
+        startJournaling(initialBoard, 0);
+        boolean durable = isDurable();
+        queueCurrentWrite(() -> {
+            MoveJournal journal = journal();
+            journal.reset();
+            if(durable) journal.force();
+            gameDriver.clearSnapshot(durable);
+            gameDriver.copyGameToCurrent(initialBoard, durable);
+        });
+        return game;
+    }
+    private int[][] loadRandomGame(Difficulty level) throws NotFoundException {
         File folder = new File(basePath + "/" + level.toString().toLowerCase());
         File[] files = folder.listFiles((dir, name) -> name.endsWith(".csv"));
         if(files == null || files.length == 0) {
             throw new NotFoundException("No games found for difficulty: " + level);
         }
-        Random random = new Random();
         File selectedFile = files[random.nextInt(files.length)];
         try {
-            int[][] board = loadBoardFromFile(selectedFile);
-            Game game = new Game(board, level);
-            this.currentGame = game;
-            gameDriver.copyGameToCurrent(board);
-            initializeLogFile();
-            return game;
+            return loadBoardFromFile(selectedFile);
         } catch (IOException e) {
             throw new NotFoundException("Error loading game: " + e.getMessage(), e);
         }
     }
     @Override
-    public void driveGames(Game sourceGame) throws SolutionInvalidException {
-        VerificationResult result = SequentialVerifier.verify(sourceGame.getBoard());
+    public void driveGames(Game sourceGame) throws SolutionInvalidException, IOException {
+        VerificationResult result = SequentialVerifier.verify(sourceGame.getPackedBoard());
         if(result.getState() != GameState.VALID) {
             throw new SolutionInvalidException(
                     "Source solution is " + result.getState() +
                             ". Must be a fully valid Sudoku board.");
         }
-        clearAllGameFolders();
         gameDriver.generateGamesFromValidBoard(sourceGame.getBoard());
+        generatedSize = sourceGame.getSize();
+        prefetcher.invalidate();
+    }
+    @Override
+    public void driveGames(int size) throws IOException {
+        if(!BoardGeometry.isSupported(size)) {
+            throw new IllegalArgumentException("Unsupported board size: " + size);
+        }
+        gameDriver.generateGames(size);
+        generatedSize = size;
+        prefetcher.invalidate();
     }
     public void driveGamesFromFile(String filePath) throws SolutionInvalidException, IOException {
         int[][] board = loadBoardFromFile(new File(filePath));
@@ -61,27 +144,33 @@ public class GameController implements Viewable {
         driveGames(sourceGame);
     }
     @Override
+    public BoardVerification verify(Game game) {
+        return BoardVerification.of(game);
+    }
+    @Override
+    public List<Move> solve(Game game) throws InvalidGameException {
+        return toMoves(game.getSize(), solveGame(game));
+    }
+    @Override
+    public CompletableFuture<BoardVerification> verifyAsync(Game game) {
+        Game snapshot = new Game(game.getPackedBoard(), game.getDifficulty());
+        return CompletableFuture.supplyAsync(() -> verify(snapshot), SharedPool.get());
+    }
+    @Override
+    public CompletableFuture<List<Move>> solveAsync(Game game, long timeoutMillis, ProgressListener listener) {
+        int size = game.getSize();
+        return solveAsync(game, timeoutMillis, listener, encoded -> toMoves(size, encoded));
+    }
+    @Override
     public String verifyGame(Game game) {
-        VerificationResult result = SequentialVerifier.verify(game.getBoard());
-        switch(result.getState()) {
+        switch(game.getState()) {
             case VALID:
-                boolean hasEmpty = false;
-                int[][] board = game.getBoard();
-                for(int i = 0; i < 9; i++) {
-                    for(int j = 0; j < 9; j++) {
-                        if(board[i][j] == 0) {
-                            hasEmpty = true;
-                            break;
-                        }
-                    }
-                    if(hasEmpty) break;
-                }
-                return hasEmpty ? "incomplete" : "valid";
+                return "valid";
             case INCOMPLETE:
                 return "incomplete";
             case INVALID:
                 StringBuilder sb = new StringBuilder("invalid");
-                for(LocationOnBoard loc : result.getDuplicateLocations()) {
+                for(LocationOnBoard loc : game.getConflictLocations()) {
                     sb.append(" ").append(loc.toString());
                 }
                 return sb.toString();
@@ -91,25 +180,143 @@ public class GameController implements Viewable {
     }
     @Override
     public int[] solveGame(Game game) throws InvalidGameException {
-        if(game.getEmptyCellCount() != 5) {
-            throw new InvalidGameException("Solver only works for exactly 5 empty cells");
+        return solveGame(game, null);
+    }
+    @Override
+    public CompletableFuture<String> verifyGameAsync(Game game) {
+        Game snapshot = new Game(game.getPackedBoard(), game.getDifficulty());
+        return CompletableFuture.supplyAsync(() -> verifyGame(snapshot), SharedPool.get());
+    }
+    @Override
+    public CompletableFuture<int[]> solveGameAsync(Game game, long timeoutMillis, ProgressListener listener) {
+        return solveAsync(game, timeoutMillis, listener, encoded -> encoded);
+    }
+    private <T> CompletableFuture<T> solveAsync(Game game, long timeoutMillis, ProgressListener listener,
+                                                Function<int[], T> adapter) {
+        Game snapshot = new Game(game.getPackedBoard(), game.getDifficulty());
+        SolveMonitor monitor = new SolveMonitor(timeoutMillis, listener);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if(future.isCancelled()) {
+                monitor.cancel();
+            }
+        });
+        SharedPool.get().execute(() -> {
+            if(future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(adapter.apply(solveGame(snapshot, monitor)));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+    private int[] solveGame(Game game, SolveMonitor monitor) throws InvalidGameException {
+        if(game.getEmptyCellCount() == 0) {
+            throw new InvalidGameException("Board has no empty cells to solve");
+        }
+        if(solverType != DEFAULT_SOLVER_TYPE) {
+            return Solvers.solve(game, solverType, monitor);
         }
-        return SudokuSolver.solve(game);
+        return solutionCache.solve(game, solverType, monitor);
+    }
+    private static List<Move> toMoves(int size, int[] encoded) {
+        List<Move> moves = new ArrayList<>(encoded.length);
+        for(int move : encoded) {
+            moves.add(new Move(move / (size * size), (move / size) % size, move % size + 1));
+        }
+        return moves;
+    }
+    public Hint getHint(Game game) {
+        return LogicalSolver.nextMove(game.getPackedBoard());
+    }
+    public Technique gradeGame(Game game) {
+        return LogicalSolver.grade(game.getPackedBoard());
     }
     @Override
     public void logUserAction(String userAction) throws IOException {
-        File logFile = new File(basePath + "/current/log.txt");
-        File parentDir = logFile.getParentFile();
-        if(!parentDir.exists()) {
-            parentDir.mkdirs();
+        MoveRecord move = parseLogEntry(userAction);
+        if(move == null) throw new IOException("Invalid log entry: " + userAction);
+        logMove(move);
+    }
+    @Override
+    public void logMove(MoveRecord move) throws IOException {
+        finishCurrentWrite();
+        appendMove(move, true);
+        checkpointIfDue();
+    }
+    public MoveRecord undoLastMove(Game game) throws IOException {
+        finishCurrentWrite();
+        MoveRecord undone = game.undo();
+        if(undone == null) return null;
+        if(undoableRecords > 0) {
+            MoveJournal journal = journal();
+            journal.truncate(journal.getRecordCount() - 1);
+            undoableRecords--;
+            applyToJournaledBoard(undone.getRow(), undone.getCol(), undone.getPreviousValue());
+        } else {
+            appendMove(new MoveRecord(undone.getRow(), undone.getCol(), undone.getPreviousValue(), undone.getValue()), false);
         }
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(logFile, true))) {
-            writer.write(userAction);
-            writer.newLine();
+        checkpointIfDue();
+        return undone;
+    }
+    public MoveRecord redoMove(Game game) throws IOException {
+        finishCurrentWrite();
+        MoveRecord redone = game.redo();
+        if(redone != null) {
+            appendMove(redone, true);
+            checkpointIfDue();
         }
+        return redone;
+    }
+    public void checkpoint() throws IOException {
+        finishCurrentWrite();
+        queueCheckpoint();
+        finishCurrentWrite();
+    }
+    private void queueCheckpoint() {
+        if(journaledBoard == null) return;
+        int[][] board = new int[journaledBoard.length][];
+        for(int row = 0; row < board.length; row++) board[row] = journaledBoard[row].clone();
+        boolean durable = isDurable();
+        undoableRecords = 0;
+        lastCheckpointNanos = System.nanoTime();
+        queueCurrentWrite(() -> {
+            MoveJournal journal = journal();
+            if(journal.getRecordCount() == 0) return;
+            gameDriver.saveSnapshot(board, durable);
+            journal.reset();
+        });
+    }
+    private void checkpointIfDue() throws IOException {
+        if(journaledBoard == null) return;
+        long records = journal().getRecordCount();
+        if(records == 0) return;
+        boolean movesDue = checkpointMoves > 0 && records >= checkpointMoves;
+        boolean timeDue = checkpointMillis > 0 && System.nanoTime() - lastCheckpointNanos >= checkpointMillis * 1_000_000;
+        if(movesDue || timeDue) queueCheckpoint();
+    }
+    private void appendMove(MoveRecord move, boolean undoable) throws IOException {
+        journal().append(move);
+        if(undoable) undoableRecords++;
+        applyToJournaledBoard(move.getRow(), move.getCol(), move.getValue());
+    }
+    private void applyToJournaledBoard(int row, int col, int value) {
+        if(journaledBoard != null) journaledBoard[row][col] = value;
+    }
+    private void startJournaling(int[][] board, long undoable) {
+        journaledBoard = new int[board.length][];
+        for(int row = 0; row < board.length; row++) journaledBoard[row] = board[row].clone();
+        undoableRecords = undoable;
+        lastCheckpointNanos = System.nanoTime();
     }
     @Override
     public void deleteCompletedGame(Game game) {
+        awaitCurrentWrite();
+        closeJournal();
+        journaledBoard = null;
         String[] difficulties = {"easy", "medium", "hard"};
         for (String difficulty : difficulties) {
             File difficultyFolder = new File(basePath + "/" + difficulty);
@@ -122,6 +329,7 @@ public class GameController implements Viewable {
                 }
             }
         }
+        prefetcher.invalidate();
         File currentFolder = new File(basePath + "/current");
         if(currentFolder.exists() && currentFolder.isDirectory()) {
             File[] files = currentFolder.listFiles();
@@ -133,6 +341,9 @@ public class GameController implements Viewable {
         }
     }
     public void deleteCurrentGameFiles() {
+        awaitCurrentWrite();
+        closeJournal();
+        journaledBoard = null;
         File currentFolder = new File(basePath + "/current");
         if(currentFolder.exists() && currentFolder.isDirectory()) {
             File[] files = currentFolder.listFiles();
@@ -144,11 +355,16 @@ public class GameController implements Viewable {
         }
     }
     private boolean checkUnfinishedGame() {
+        awaitCurrentWrite();
         File currentFolder = new File(basePath + "/current");
         if (!currentFolder.exists()) {
             return false;
         }
-        File logFile = new File(currentFolder, "log.txt");
+        File journalFile = new File(currentFolder, JOURNAL_FILE);
+        if (journalFile.exists() && journalFile.length() > 0) {
+            return true;
+        }
+        File logFile = new File(currentFolder, LEGACY_LOG_FILE);
         if (logFile.exists() && logFile.length() > 0) {
             return true;
         }
@@ -171,16 +387,22 @@ public class GameController implements Viewable {
         return easyExists && mediumExists && hardExists;
     }
     private int[][] loadBoardFromFile(File file) throws IOException {
-        int[][] board = new int[9][9];
+        int[][] board = null;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             int row = 0;
-            while ((line = reader.readLine()) != null && row < 9) {
+            while ((line = reader.readLine()) != null && (board == null || row < board.length)) {
                 if(line.trim().isEmpty()) {
                     continue;
                 }
                 String[] values = line.split(",");
-                for (int col = 0; col < 9 && col < values.length; col++) {
+                if(board == null) {
+                    if(!BoardGeometry.isSupported(values.length)) {
+                        throw new IOException("Unsupported board size " + values.length + " in CSV file: " + file.getName());
+                    }
+                    board = new int[values.length][values.length];
+                }
+                for (int col = 0; col < board.length && col < values.length; col++) {
                     String val = values[col].trim();
                     board[row][col] = val.isEmpty() ? 0 : Integer.parseInt(val);
                 }
@@ -189,9 +411,13 @@ public class GameController implements Viewable {
         } catch (NumberFormatException e) {
             throw new IOException("Invalid number format in CSV file: " + file.getName(), e);
         }
+        if(board == null) {
+            throw new IOException("CSV file is empty: " + file.getName());
+        }
         return board;
     }
     public Game loadUnfinishedGame() throws NotFoundException, IOException {
+        finishCurrentWrite();
         File gameFile = new File(basePath + "/current/game.csv");
         if(!gameFile.exists() || gameFile.length() == 0) {
             throw new NotFoundException("No unfinished game found");
@@ -199,57 +425,106 @@ public class GameController implements Viewable {
         int[][] initialBoard = loadBoardFromFile(gameFile);
         Game game = new Game(initialBoard, null);
         this.currentGame = game;
-        File logFile = new File(basePath + "/current/log.txt");
-        if(logFile.exists() && logFile.length() > 0) {
-            List<String> logEntries = Files.readAllLines(logFile.toPath());
-            for(String entry : logEntries) {
-                entry = entry.replaceAll("[()]", "");
-                String[] parts = entry.split(", ");
-                if(parts.length == 4) {
-                    try {
-                        int row = Integer.parseInt(parts[0].trim());
-                        int col = Integer.parseInt(parts[1].trim());
-                        int value = Integer.parseInt(parts[2].trim());
-                        game.setCellValue(row, col, value);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Invalid log entry: " + entry);
-                    }
+        File snapshotFile = new File(basePath + "/current/" + GameDriver.SNAPSHOT_FILE);
+        if(snapshotFile.exists() && snapshotFile.length() > 0) {
+            int[][] snapshot = loadBoardFromFile(snapshotFile);
+            if(snapshot.length != game.getSize()) {
+                throw new IOException("Snapshot does not match the current game: " + snapshotFile.getName());
+            }
+            for(int row = 0; row < snapshot.length; row++) {
+                for(int col = 0; col < snapshot.length; col++) {
+                    if(snapshot[row][col] != game.getCellValue(row, col)) game.setCellValue(row, col, snapshot[row][col]);
                 }
             }
         }
+        importLegacyLog();
+        List<MoveRecord> tail = journal().readAll();
+        for(MoveRecord move : tail) {
+            game.play(move.getRow(), move.getCol(), move.getValue());
+        }
+        startJournaling(game.getBoard(), tail.size());
+        checkpointIfDue();
         return game;
     }
-    private void initializeLogFile() {
-        File logFile = new File(basePath + "/current/log.txt");
-        if(logFile.exists()) {
-            logFile.delete();
+    private void importLegacyLog() throws IOException {
+        File logFile = new File(basePath + "/current/" + LEGACY_LOG_FILE);
+        if(!logFile.exists()) return;
+        List<MoveRecord> moves = new ArrayList<>();
+        for(String entry : Files.readAllLines(logFile.toPath())) {
+            if(entry.trim().isEmpty()) continue;
+            MoveRecord move = parseLogEntry(entry);
+            if(move == null) throw new IOException("Invalid log entry in " + LEGACY_LOG_FILE + ": " + entry);
+            moves.add(move);
         }
+        MoveJournal journal = journal();
+        for(MoveRecord move : moves) journal.append(move);
+        if(isDurable()) journal.force();
+        logFile.delete();
+    }
+    private static MoveRecord parseLogEntry(String entry) {
+        String[] parts = entry.replaceAll("[()]", "").split(", ");
+        if(parts.length != 4) return null;
+        try {
+            return new MoveRecord(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    private MoveJournal journal() throws IOException {
+        if(journal == null) {
+            File currentFolder = new File(basePath + "/current");
+            currentFolder.mkdirs();
+            journal = MoveJournal.open(new File(currentFolder, JOURNAL_FILE).toPath(), journalDurability, groupCommitMillis);
+        }
+        return journal;
+    }
+    private void closeJournal() {
+        if(journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        journal = null;
+    }
+    private boolean isDurable() {
+        return journalDurability != JournalDurability.OS_BUFFERED;
+    }
+    private void queueCurrentWrite(CurrentWrite write) {
+        pendingCurrentWrite = pendingCurrentWrite.thenRunAsync(() -> {
+            try {
+                write.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, SharedPool.get()).exceptionally(e -> {
+            currentWriteFailure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            return null;
+        });
+    }
+    private void awaitCurrentWrite() {
+        pendingCurrentWrite.join();
+    }
+    private void finishCurrentWrite() throws IOException {
+        awaitCurrentWrite();
+        Throwable failure = currentWriteFailure;
+        if(failure == null) return;
+        currentWriteFailure = null;
+        if(failure instanceof UncheckedIOException) failure = failure.getCause();
+        throw new IOException("Could not save the current game: " + failure.getMessage(), failure);
+    }
+    @Override
+    public void close() {
+        awaitCurrentWrite();
+        closeJournal();
+        prefetcher.close();
     }
     public boolean[] getCatalogAsBooleans() {
         Catalog catalog = getCatalog();
         return new boolean[]{catalog.isHasUnfinished(), catalog.isAllModesExist()};
     }
-    private void clearAllGameFolders() {
-        String[] difficulties = {"easy", "medium", "hard"};
-        for (String difficulty : difficulties) {
-            File folder = new File(basePath + "/" + difficulty);
-            if(folder.exists() && folder.isDirectory()) {
-                File[] files = folder.listFiles();
-                if(files != null) {
-                    for(File file : files) {
-                        file.delete();
-                    }
-                }
-            }
-        }
-        File currentFolder = new File(basePath + "/current");
-        if(currentFolder.exists() && currentFolder.isDirectory()) {
-            File[] files = currentFolder.listFiles();
-            if(files != null) {
-                for(File file : files) {
-                    file.delete();
-                }
-            }
-        }
+    private interface CurrentWrite {
+        void run() throws IOException;
     }
 }
\ No newline at end of file
@@ -1,52 +1,73 @@
 package Database;
 
 import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.List;
+import Model.BoardGeometry;
 import Model.Box;
 import Model.Column;
 import Model.Row;
 import com.opencsv.CSVReader;
 
 public class CSVDatabaseManager {
-    public static void loadData(Box[] boxes, Row[] rows, Column[] columns, String filePath) {
+    public static int[][] readBoard(String filePath) {
+        List<String[]> records = new ArrayList<>();
         try {
             FileReader filereader = new FileReader(filePath);
             CSVReader csvReader = new CSVReader(filereader);
             String[] nextRecord;
-            int counter = 0;
-            int[][] elements = new int[9][9];
-            while ((nextRecord = csvReader.readNext()) != null && counter < 9) {
-                for(int j = 0; j < 9; j++) {
-                    elements[counter][j] = Integer.parseInt(nextRecord[j].trim());
-                }
-                counter++;
+            while ((nextRecord = csvReader.readNext()) != null
+                    && (records.isEmpty() || records.size() < records.get(0).length)) {
+                if (nextRecord.length == 1 && nextRecord[0].trim().isEmpty()) continue;
+                records.add(nextRecord);
             }
             csvReader.close();
-            for(int i = 0; i < 9; i++) {
-                int[] r = new int[9];
-                int[] c = new int[9];
-                for(int j = 0; j < 9; j++) {
-                    r[j] = elements[i][j];
-                    c[j] = elements[j][i];
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        int size = records.isEmpty() || !BoardGeometry.isSupported(records.get(0).length)
+                ? 9 : records.get(0).length;
+        int[][] elements = new int[size][size];
+        try {
+            for(int i = 0; i < size && i < records.size(); i++) {
+                for(int j = 0; j < size; j++) {
+                    elements[i][j] = Integer.parseInt(records.get(i)[j].trim());
                 }
-                rows[i].setRowElements(r);
-                columns[i].setcolumnElements(c);
             }
-            for(int i = 0; i < 3; i++) {
-                for(int j = 0; j < 3; j++) {
-                    int[] b = new int[9];
-                    int count = 0;
-                    for(int k = i * 3; k < i * 3 + 3; k++) {
-                        for(int t = j * 3; t < j * 3 + 3; t++) {
-                            b[count++] = elements[k][t];
-                        }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return elements;
+    }
+    public static void loadData(Box[] boxes, Row[] rows, Column[] columns, String filePath) {
+        loadData(boxes, rows, columns, readBoard(filePath));
+    }
+    public static void loadData(Box[] boxes, Row[] rows, Column[] columns, int[][] elements) {
+        int size = elements.length;
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        for(int i = 0; i < size; i++) {
+            int[] r = new int[size];
+            int[] c = new int[size];
+            for(int j = 0; j < size; j++) {
+                r[j] = elements[i][j];
+                c[j] = elements[j][i];
+            }
+            rows[i].setRowElements(r);
+            columns[i].setcolumnElements(c);
+        }
+        for(int i = 0; i < boxSize; i++) {
+            for(int j = 0; j < boxSize; j++) {
+                int[] b = new int[size];
+                int count = 0;
+                for(int k = i * boxSize; k < i * boxSize + boxSize; k++) {
+                    for(int t = j * boxSize; t < j * boxSize + boxSize; t++) {
+                        b[count++] = elements[k][t];
                     }
-                    int boxIndex = i * 3 + j;
-                    boxes[boxIndex] = new Box(i * 3, j * 3);
-                    boxes[boxIndex].setBoxElements(b);
                 }
+                int boxIndex = i * boxSize + j;
+                boxes[boxIndex] = new Box(i * boxSize, j * boxSize, size);
+                boxes[boxIndex].setBoxElements(b);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package Exceptions;
 
 public class InvalidGameException extends Exception {
+    private static final long serialVersionUID = 1L;
     public InvalidGameException(String message) {
         super(message);
     }
@@ -1,6 +1,7 @@
 package Exceptions;
 
 public class NotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
     public NotFoundException(String message) {
         super(message);
     }
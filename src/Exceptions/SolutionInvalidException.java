@@ -1,6 +1,7 @@
 package Exceptions;
 
 public class SolutionInvalidException extends Exception {
+    private static final long serialVersionUID = 1L;
     public SolutionInvalidException(String message) {
         super(message);
     }
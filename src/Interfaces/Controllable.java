@@ -1,13 +1,24 @@
 package Interfaces;
 
 import Exceptions.*;
+import Model.BoardVerification;
+import Model.Move;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface Controllable {
     boolean[] getCatalog();
     int[][] getGame(char level) throws NotFoundException;
     void driveGames(String sourcePath) throws SolutionInvalidException, IOException;
+    void driveGames(int size) throws IOException;
+    BoardVerification verify(int[][] game);
+    List<Move> solve(int[][] game) throws InvalidGameException;
+    CompletableFuture<BoardVerification> verifyAsync(int[][] game);
+    CompletableFuture<List<Move>> solveAsync(int[][] game, long timeoutMillis, ProgressListener listener);
     boolean[][] verifyGame(int[][] game);
     int[][] solveGame(int[][] game) throws InvalidGameException;
+    CompletableFuture<boolean[][]> verifyGameAsync(int[][] game);
+    CompletableFuture<int[][]> solveGameAsync(int[][] game, long timeoutMillis, ProgressListener listener);
     void logUserAction(UI.UserAction userAction) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package Interfaces;
+
+public interface ProgressListener {
+    void onProgress(long nodesExplored, long combinationsChecked);
+}
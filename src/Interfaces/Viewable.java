@@ -4,13 +4,23 @@ import Model.*;
 import Exceptions.*;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface Viewable {
     Catalog getCatalog();
     Game getGame(Difficulty level) throws NotFoundException;
-    void driveGames(Game sourceGame) throws SolutionInvalidException;
+    void driveGames(Game sourceGame) throws SolutionInvalidException, IOException;
+    void driveGames(int size) throws IOException;
+    BoardVerification verify(Game game);
+    List<Move> solve(Game game) throws InvalidGameException;
+    CompletableFuture<BoardVerification> verifyAsync(Game game);
+    CompletableFuture<List<Move>> solveAsync(Game game, long timeoutMillis, ProgressListener listener);
     String verifyGame(Game game);
     int[] solveGame(Game game) throws InvalidGameException;
+    CompletableFuture<String> verifyGameAsync(Game game);
+    CompletableFuture<int[]> solveGameAsync(Game game, long timeoutMillis, ProgressListener listener);
     void logUserAction(String userAction) throws IOException;
+    void logMove(MoveRecord move) throws IOException;
     void deleteCompletedGame(Game game);
 }
\ No newline at end of file
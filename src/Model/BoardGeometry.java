@@ -0,0 +1,112 @@
+package Model;
+
+public final class BoardGeometry {
+    public static final int MIN_BOX_SIZE = 2;
+    public static final int MAX_BOX_SIZE = 5;
+    private static final BoardGeometry[] CACHE = new BoardGeometry[MAX_BOX_SIZE + 1];
+
+    static {
+        for (int boxSize = MIN_BOX_SIZE; boxSize <= MAX_BOX_SIZE; boxSize++) {
+            CACHE[boxSize] = new BoardGeometry(boxSize);
+        }
+    }
+
+    public static final BoardGeometry STANDARD = of(9);
+
+    private final int boxSize;
+    private final int size;
+    private final int cells;
+    private final int units;
+    private final int allMask;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final int[][] cellUnits;
+    private final int[][] unitCells;
+    private final int[][] peers;
+
+    private BoardGeometry(int boxSize) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cells = size * size;
+        this.units = 3 * size;
+        this.allMask = (1 << size) - 1;
+        this.rowOf = new int[cells];
+        this.colOf = new int[cells];
+        this.boxOf = new int[cells];
+        this.cellUnits = new int[cells][3];
+        this.unitCells = new int[units][size];
+        int[] boxFill = new int[size];
+        for (int i = 0; i < cells; i++) {
+            int row = i / size;
+            int col = i % size;
+            int box = (row / boxSize) * boxSize + (col / boxSize);
+            rowOf[i] = row;
+            colOf[i] = col;
+            boxOf[i] = box;
+            cellUnits[i][0] = row;
+            cellUnits[i][1] = size + col;
+            cellUnits[i][2] = 2 * size + box;
+            unitCells[row][col] = i;
+            unitCells[size + col][row] = i;
+            unitCells[2 * size + box][boxFill[box]++] = i;
+        }
+        int peerCount = 3 * size - 2 * boxSize - 1;
+        this.peers = new int[cells][peerCount];
+        for (int i = 0; i < cells; i++) {
+            int count = 0;
+            for (int j = 0; j < cells; j++) {
+                if (j != i && (rowOf[i] == rowOf[j] || colOf[i] == colOf[j] || boxOf[i] == boxOf[j])) {
+                    peers[i][count++] = j;
+                }
+            }
+        }
+    }
+
+    public static BoardGeometry of(int size) {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        if (boxSize < MIN_BOX_SIZE || boxSize > MAX_BOX_SIZE || boxSize * boxSize != size) {
+            throw new IllegalArgumentException("Unsupported board size: " + size);
+        }
+        return CACHE[boxSize];
+    }
+
+    public static boolean isSupported(int size) {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        return boxSize >= MIN_BOX_SIZE && boxSize <= MAX_BOX_SIZE && boxSize * boxSize == size;
+    }
+
+    public int getBoxSize() {
+        return boxSize;
+    }
+    public int getSize() {
+        return size;
+    }
+    public int getCellCount() {
+        return cells;
+    }
+    public int getUnitCount() {
+        return units;
+    }
+    public int getAllMask() {
+        return allMask;
+    }
+    public int rowOf(int cell) {
+        return rowOf[cell];
+    }
+    public int colOf(int cell) {
+        return colOf[cell];
+    }
+    public int boxOf(int cell) {
+        return boxOf[cell];
+    }
+    public int[] unitsOf(int cell) {
+        return cellUnits[cell];
+    }
+    public int[] cellsOf(int unit) {
+        return unitCells[unit];
+    }
+    public int[] peersOf(int cell) {
+        return peers[cell];
+    }
+}
@@ -0,0 +1,210 @@
+package Model;
+
+import java.util.SplittableRandom;
+
+public final class BoardTransform {
+    private final int size;
+    private final boolean transpose;
+    private final int[] rowMap;
+    private final int[] colMap;
+    private final int[] digitMap;
+
+    public BoardTransform(boolean transpose, int[] rowMap, int[] colMap, int[] digitMap) {
+        if (rowMap.length != colMap.length || digitMap.length != rowMap.length + 1) {
+            throw new IllegalArgumentException("Row, column and digit maps must match the board size");
+        }
+        this.size = rowMap.length;
+        this.transpose = transpose;
+        this.rowMap = rowMap.clone();
+        this.colMap = colMap.clone();
+        this.digitMap = digitMap.clone();
+    }
+
+    public static BoardTransform identity(int size) {
+        int[] lines = new int[size];
+        int[] digits = new int[size + 1];
+        for (int i = 0; i < size; i++) lines[i] = i;
+        for (int d = 0; d <= size; d++) digits[d] = d;
+        return new BoardTransform(false, lines, lines, digits);
+    }
+
+    public static BoardTransform transposition(int size) {
+        BoardTransform identity = identity(size);
+        return new BoardTransform(true, identity.rowMap, identity.colMap, identity.digitMap);
+    }
+
+    public static BoardTransform rotation(int size) {
+        BoardTransform identity = identity(size);
+        int[] reversed = new int[size];
+        for (int i = 0; i < size; i++) reversed[i] = size - 1 - i;
+        return new BoardTransform(true, identity.rowMap, reversed, identity.digitMap);
+    }
+
+    public static BoardTransform swapRows(int size, int a, int b) {
+        checkSameBlock(size, a, b, "Rows");
+        BoardTransform identity = identity(size);
+        return new BoardTransform(false, swap(identity.rowMap, a, b), identity.colMap, identity.digitMap);
+    }
+
+    public static BoardTransform swapColumns(int size, int a, int b) {
+        checkSameBlock(size, a, b, "Columns");
+        BoardTransform identity = identity(size);
+        return new BoardTransform(false, identity.rowMap, swap(identity.colMap, a, b), identity.digitMap);
+    }
+
+    public static BoardTransform swapBands(int size, int a, int b) {
+        BoardTransform identity = identity(size);
+        return new BoardTransform(false, swapBlocks(size, a, b), identity.colMap, identity.digitMap);
+    }
+
+    public static BoardTransform swapStacks(int size, int a, int b) {
+        BoardTransform identity = identity(size);
+        return new BoardTransform(false, identity.rowMap, swapBlocks(size, a, b), identity.digitMap);
+    }
+
+    public static BoardTransform relabel(int[] digitMap) {
+        int size = digitMap.length - 1;
+        if (digitMap[0] != 0 || !isPermutation(digitMap)) {
+            throw new IllegalArgumentException("Digit map must fix 0 and permute 1.." + size);
+        }
+        BoardTransform identity = identity(size);
+        return new BoardTransform(false, identity.rowMap, identity.colMap, digitMap);
+    }
+
+    public static BoardTransform random(int size, SplittableRandom random) {
+        int boxSize = BoardGeometry.of(size).getBoxSize();
+        int[] digits = new int[size + 1];
+        int[] shuffled = shuffled(size, random);
+        for (int d = 1; d <= size; d++) digits[d] = shuffled[d - 1] + 1;
+        return new BoardTransform(random.nextBoolean(), randomLines(boxSize, random),
+                randomLines(boxSize, random), digits);
+    }
+
+    public BoardTransform then(BoardTransform next) {
+        if (next.size != size) throw new IllegalArgumentException("Transforms must have the same size");
+        int[] rows = new int[size];
+        int[] cols = new int[size];
+        int[] digits = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            rows[i] = next.transpose ? colMap[next.rowMap[i]] : rowMap[next.rowMap[i]];
+            cols[i] = next.transpose ? rowMap[next.colMap[i]] : colMap[next.colMap[i]];
+        }
+        for (int d = 0; d <= size; d++) digits[d] = next.digitMap[digitMap[d]];
+        return new BoardTransform(transpose != next.transpose, rows, cols, digits);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isTranspose() {
+        return transpose;
+    }
+
+    public int[] apply(int[] values) {
+        int[] result = new int[values.length];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int source = transpose ? colMap[c] * size + rowMap[r] : rowMap[r] * size + colMap[c];
+                result[r * size + c] = digitMap[values[source]];
+            }
+        }
+        return result;
+    }
+
+    public int[][] apply(int[][] board) {
+        int[][] result = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = transpose ? board[colMap[c]][rowMap[r]] : board[rowMap[r]][colMap[c]];
+                result[r][c] = digitMap[value];
+            }
+        }
+        return result;
+    }
+
+    public PackedBoard apply(PackedBoard board) {
+        PackedBoard result = new PackedBoard(board.getGeometry());
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = transpose ? board.get(colMap[c], rowMap[r]) : board.get(rowMap[r], colMap[c]);
+                if (value != 0) result.set(r, c, digitMap[value]);
+            }
+        }
+        return result;
+    }
+
+    public BoardTransform inverse() {
+        int[] rowInverse = invert(rowMap);
+        int[] colInverse = invert(colMap);
+        int[] digitInverse = invert(digitMap);
+        return transpose
+                ? new BoardTransform(true, colInverse, rowInverse, digitInverse)
+                : new BoardTransform(false, rowInverse, colInverse, digitInverse);
+    }
+
+    private static int[] randomLines(int boxSize, SplittableRandom random) {
+        int size = boxSize * boxSize;
+        int[] lines = new int[size];
+        int[] blocks = shuffled(boxSize, random);
+        for (int block = 0; block < boxSize; block++) {
+            int[] within = shuffled(boxSize, random);
+            for (int k = 0; k < boxSize; k++) lines[block * boxSize + k] = blocks[block] * boxSize + within[k];
+        }
+        return lines;
+    }
+
+    private static int[] shuffled(int n, SplittableRandom random) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    private static int[] swap(int[] map, int a, int b) {
+        int[] result = map.clone();
+        result[a] = map[b];
+        result[b] = map[a];
+        return result;
+    }
+
+    private static int[] swapBlocks(int size, int a, int b) {
+        int boxSize = BoardGeometry.of(size).getBoxSize();
+        if (a < 0 || a >= boxSize || b < 0 || b >= boxSize) {
+            throw new IllegalArgumentException("Block index must be between 0 and " + (boxSize - 1));
+        }
+        int[] lines = identity(size).rowMap;
+        for (int k = 0; k < boxSize; k++) {
+            lines[a * boxSize + k] = b * boxSize + k;
+            lines[b * boxSize + k] = a * boxSize + k;
+        }
+        return lines;
+    }
+
+    private static void checkSameBlock(int size, int a, int b, String lines) {
+        int boxSize = BoardGeometry.of(size).getBoxSize();
+        if (a < 0 || a >= size || b < 0 || b >= size || a / boxSize != b / boxSize) {
+            throw new IllegalArgumentException(lines + " " + a + " and " + b + " are not in the same block");
+        }
+    }
+
+    private static boolean isPermutation(int[] map) {
+        boolean[] seen = new boolean[map.length];
+        for (int value : map) {
+            if (value < 0 || value >= map.length || seen[value]) return false;
+            seen[value] = true;
+        }
+        return true;
+    }
+
+    private static int[] invert(int[] map) {
+        int[] inverse = new int[map.length];
+        for (int i = 0; i < map.length; i++) inverse[map[i]] = i;
+        return inverse;
+    }
+}
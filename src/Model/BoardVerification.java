@@ -0,0 +1,48 @@
+package Model;
+
+import java.util.BitSet;
+
+public class BoardVerification {
+    private final GameState state;
+    private final int size;
+    private final BitSet conflicts;
+
+    public BoardVerification(GameState state, int size, BitSet conflicts) {
+        this.state = state;
+        this.size = size;
+        this.conflicts = conflicts;
+    }
+    public static BoardVerification of(Game game) {
+        return new BoardVerification(game.getState(), game.getSize(), game.getConflicts());
+    }
+    public GameState getState() {
+        return state;
+    }
+    public int getSize() {
+        return size;
+    }
+    public boolean isValid() {
+        return state == GameState.VALID;
+    }
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+    public boolean isConflicting(int row, int col) {
+        return conflicts.get(row * size + col);
+    }
+    public int getConflictCount() {
+        return conflicts.cardinality();
+    }
+    public BitSet getConflicts() {
+        return (BitSet) conflicts.clone();
+    }
+    public boolean[][] toCellValidity() {
+        boolean[][] cellValidity = new boolean[size][size];
+        for(int row = 0; row < size; row++) {
+            for(int col = 0; col < size; col++) {
+                cellValidity[row][col] = !conflicts.get(row * size + col);
+            }
+        }
+        return cellValidity;
+    }
+}
@@ -7,7 +7,10 @@ public class Box {
     private int[] boxElements;
     int sRow,sCol;
     public Box(int sRow,int sCol) {
-        this.boxElements = new int[9];
+        this(sRow, sCol, 9);
+    }
+    public Box(int sRow,int sCol,int size) {
+        this.boxElements = new int[size];
         this.sRow = sRow;
         this.sCol = sCol;
     }
@@ -20,12 +23,13 @@ public class Box {
     public HashMap<Integer,ArrayList<LocationOnBoard>> getDuplicatedBox()
     {
         HashMap<Integer,ArrayList<LocationOnBoard>> dup = new HashMap<>();
-        for(int i=0;i<9;i++)
+        int boxSize = (int) Math.round(Math.sqrt(boxElements.length));
+        for(int i=0;i<boxElements.length;i++)
         {
             int number = boxElements[i];
             if(number == 0) continue;
-            int r = sRow + i/3;
-            int c = sCol + i%3;
+            int r = sRow + i/boxSize;
+            int c = sCol + i%boxSize;
             if(!dup.containsKey(number))
                 dup.put(number,new ArrayList<>());
             dup.get(number).add(new LocationOnBoard(r,c));
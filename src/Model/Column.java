@@ -7,7 +7,10 @@ public class Column {
     private int[] columnElements;
 
     public Column() {
-        this.columnElements = new int[9];
+        this(9);
+    }
+    public Column(int size) {
+        this.columnElements = new int[size];
     }
     public int[] getcolumnElements() {
         return columnElements;
@@ -17,7 +20,7 @@ public class Column {
     }
     public HashMap<Integer, ArrayList<Integer>> getDuplicatedColumn() {
         HashMap<Integer, ArrayList<Integer>> dup = new HashMap<>();
-        for(int i = 0; i < 9; i++) {
+        for(int i = 0; i < columnElements.length; i++) {
             int number = columnElements[i];
             if(number == 0) continue;
             if(!dup.containsKey(number))
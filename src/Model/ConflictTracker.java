@@ -0,0 +1,108 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class ConflictTracker {
+    private final PackedBoard board;
+    private final BoardGeometry geometry;
+    private final int stride;
+    private final byte[] digitCounts;
+    private final byte[] conflictUnits;
+    private final BitSet conflicts;
+
+    public ConflictTracker(PackedBoard board) {
+        this.board = board;
+        this.geometry = board.getGeometry();
+        this.stride = geometry.getSize() + 1;
+        this.digitCounts = new byte[geometry.getUnitCount() * stride];
+        this.conflictUnits = new byte[geometry.getCellCount()];
+        this.conflicts = new BitSet(geometry.getCellCount());
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            int value = board.get(cell);
+            if (value == 0) continue;
+            for (int unit : geometry.unitsOf(cell)) digitCounts[unit * stride + value]++;
+        }
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            int value = board.get(cell);
+            if (value == 0) continue;
+            for (int unit : geometry.unitsOf(cell)) {
+                if (digitCounts[unit * stride + value] >= 2) mark(cell, 1);
+            }
+        }
+    }
+
+    public void update(int cell, int previous, int value) {
+        if (previous == value) return;
+        if (previous != 0) removed(cell, previous);
+        if (value != 0) added(cell, value);
+    }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    public int getConflictCount() {
+        return conflicts.cardinality();
+    }
+
+    public boolean isConflicting(int row, int col) {
+        return conflicts.get(row * geometry.getSize() + col);
+    }
+
+    public int getDigitCount(int unit, int value) {
+        return digitCounts[unit * stride + value];
+    }
+
+    public BitSet getConflicts() {
+        return (BitSet) conflicts.clone();
+    }
+
+    public List<LocationOnBoard> getConflictLocations() {
+        List<LocationOnBoard> locations = new ArrayList<>(conflicts.cardinality());
+        for (int cell = conflicts.nextSetBit(0); cell >= 0; cell = conflicts.nextSetBit(cell + 1)) {
+            locations.add(new LocationOnBoard(geometry.rowOf(cell), geometry.colOf(cell)));
+        }
+        return locations;
+    }
+
+    public GameState getState() {
+        if (hasConflicts()) return GameState.INVALID;
+        return board.getEmptyCount() > 0 ? GameState.INCOMPLETE : GameState.VALID;
+    }
+
+    private void added(int cell, int value) {
+        for (int unit : geometry.unitsOf(cell)) {
+            int count = ++digitCounts[unit * stride + value];
+            if (count == 2) {
+                int other = find(unit, value, cell);
+                if (other >= 0) mark(other, 1);
+            }
+            if (count >= 2) mark(cell, 1);
+        }
+    }
+
+    private void removed(int cell, int value) {
+        for (int unit : geometry.unitsOf(cell)) {
+            int count = --digitCounts[unit * stride + value];
+            if (count >= 1) mark(cell, -1);
+            if (count == 1) {
+                int other = find(unit, value, cell);
+                if (other >= 0) mark(other, -1);
+            }
+        }
+    }
+
+    private int find(int unit, int value, int exclude) {
+        for (int cell : geometry.cellsOf(unit)) {
+            if (cell != exclude && board.get(cell) == value) return cell;
+        }
+        return -1;
+    }
+
+    private void mark(int cell, int delta) {
+        conflictUnits[cell] += delta;
+        conflicts.set(cell, conflictUnits[cell] > 0);
+    }
+}
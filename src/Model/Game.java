@@ -1,61 +1,99 @@
 package Model;
 
+import java.util.BitSet;
+import java.util.List;
+
 public class Game {
-    private int[][] initialBoard;
-    private int[][] currentBoard;
-    private boolean[][] fixedCells;
+    private final PackedBoard initialBoard;
+    private final PackedBoard currentBoard;
+    private final ConflictTracker conflicts;
+    private final MoveHistory history = new MoveHistory();
     private Difficulty difficulty;
 
     public Game(int[][] board, Difficulty difficulty) {
-        this.initialBoard = new int[9][9];
-        this.currentBoard = new int[9][9];
-        this.fixedCells = new boolean[9][9];
-        for(int i = 0; i < 9; i++) {
-            for(int j = 0; j < 9; j++) {
-                this.initialBoard[i][j] = board[i][j];
-                this.currentBoard[i][j] = board[i][j];
-                this.fixedCells[i][j] = (board[i][j] != 0);
-            }
-        }
+        this(PackedBoard.fromArray(board), difficulty);
+    }
+    public Game(PackedBoard board, Difficulty difficulty) {
+        this.initialBoard = board.copy();
+        this.currentBoard = board.copy();
+        this.conflicts = new ConflictTracker(currentBoard);
         this.difficulty = difficulty;
     }
     public int[][] getBoard() {
+        return currentBoard.toArray();
+    }
+    public PackedBoard getPackedBoard() {
         return currentBoard;
     }
+    public int getSize() {
+        return currentBoard.getSize();
+    }
+    public int getBoxSize() {
+        return currentBoard.getGeometry().getBoxSize();
+    }
+    public int getCellValue(int row, int col) {
+        return currentBoard.get(row, col);
+    }
     public int[][] getInitialBoard() {
-        return initialBoard;
+        return initialBoard.toArray();
     }
     public Difficulty getDifficulty() {
         return difficulty;
     }
     public boolean isFixedCell(int row, int col) {
-        return fixedCells[row][col];
+        return initialBoard.get(row, col) != 0;
     }
     public void setCellValue(int row, int col, int value) {
-        currentBoard[row][col] = value;
+        int previous = currentBoard.get(row, col);
+        currentBoard.set(row, col, value);
+        conflicts.update(row * currentBoard.getSize() + col, previous, value);
     }
-    public boolean isOriginalClue(int row, int col) {
-        return initialBoard[row][col] != 0;
+    public MoveRecord play(int row, int col, int value) {
+        int previous = currentBoard.get(row, col);
+        if (previous == value) return null;
+        setCellValue(row, col, value);
+        MoveRecord move = new MoveRecord(row, col, value, previous);
+        history.record(move);
+        return move;
+    }
+    public MoveRecord undo() {
+        MoveRecord move = history.undo();
+        if (move != null) setCellValue(move.getRow(), move.getCol(), move.getPreviousValue());
+        return move;
+    }
+    public MoveRecord redo() {
+        MoveRecord move = history.redo();
+        if (move != null) setCellValue(move.getRow(), move.getCol(), move.getValue());
+        return move;
     }
-    public void updateFixedCells() {
-        for(int i = 0; i < 9; i++) {
-            for(int j = 0; j < 9; j++) {
-                fixedCells[i][j] = (initialBoard[i][j] != 0);
-            }
-        }
+    public boolean canUndo() {
+        return history.canUndo();
+    }
+    public boolean canRedo() {
+        return history.canRedo();
+    }
+    public boolean isOriginalClue(int row, int col) {
+        return initialBoard.get(row, col) != 0;
     }
     public int getEmptyCellCount() {
-        int count = 0;
-        for(int i = 0; i < 9; i++) {
-            for(int j = 0; j < 9; j++) {
-                if(currentBoard[i][j] == 0) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return currentBoard.getEmptyCount();
     }
     public boolean isComplete() {
         return getEmptyCellCount() == 0;
     }
-}
\ No newline at end of file
+    public boolean hasConflicts() {
+        return conflicts.hasConflicts();
+    }
+    public boolean isConflicting(int row, int col) {
+        return conflicts.isConflicting(row, col);
+    }
+    public List<LocationOnBoard> getConflictLocations() {
+        return conflicts.getConflictLocations();
+    }
+    public BitSet getConflicts() {
+        return conflicts.getConflicts();
+    }
+    public GameState getState() {
+        return conflicts.getState();
+    }
+}
@@ -0,0 +1,31 @@
+package Model;
+
+public class Hint {
+    private final int row;
+    private final int col;
+    private final int value;
+    private final Technique technique;
+
+    public Hint(int row, int col, int value, Technique technique) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.technique = technique;
+    }
+    public int getRow() {
+        return row;
+    }
+    public int getCol() {
+        return col;
+    }
+    public int getValue() {
+        return value;
+    }
+    public Technique getTechnique() {
+        return technique;
+    }
+    @Override
+    public String toString() {
+        return "(" + row + ", " + col + ") = " + value + " by " + technique;
+    }
+}
@@ -0,0 +1,7 @@
+package Model;
+
+public enum JournalDurability {
+    FSYNC_EACH,
+    GROUP_COMMIT,
+    OS_BUFFERED
+}
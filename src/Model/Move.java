@@ -0,0 +1,37 @@
+package Model;
+
+public class Move {
+    private final int row;
+    private final int col;
+    private final int value;
+
+    public Move(int row, int col, int value) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+    }
+    public int getRow() {
+        return row;
+    }
+    public int getCol() {
+        return col;
+    }
+    public int getValue() {
+        return value;
+    }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Move that = (Move) obj;
+        return row == that.row && col == that.col && value == that.value;
+    }
+    @Override
+    public int hashCode() {
+        return (31 * row + col) * 31 + value;
+    }
+    @Override
+    public String toString() {
+        return "(" + row + ", " + col + ") = " + value;
+    }
+}
@@ -0,0 +1,39 @@
+package Model;
+
+import java.util.ArrayDeque;
+
+public class MoveHistory {
+    private final ArrayDeque<MoveRecord> undoStack = new ArrayDeque<>();
+    private final ArrayDeque<MoveRecord> redoStack = new ArrayDeque<>();
+
+    public void record(MoveRecord move) {
+        undoStack.push(move);
+        redoStack.clear();
+    }
+    public MoveRecord undo() {
+        MoveRecord move = undoStack.poll();
+        if (move != null) redoStack.push(move);
+        return move;
+    }
+    public MoveRecord redo() {
+        MoveRecord move = redoStack.poll();
+        if (move != null) undoStack.push(move);
+        return move;
+    }
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+    public int getUndoCount() {
+        return undoStack.size();
+    }
+    public int getRedoCount() {
+        return redoStack.size();
+    }
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package Model;
+
+public class MoveRecord {
+    private final int row;
+    private final int col;
+    private final int value;
+    private final int previousValue;
+
+    public MoveRecord(int row, int col, int value, int previousValue) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.previousValue = previousValue;
+    }
+    public int getRow() {
+        return row;
+    }
+    public int getCol() {
+        return col;
+    }
+    public int getValue() {
+        return value;
+    }
+    public int getPreviousValue() {
+        return previousValue;
+    }
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        MoveRecord that = (MoveRecord) obj;
+        return row == that.row && col == that.col && value == that.value && previousValue == that.previousValue;
+    }
+    @Override
+    public int hashCode() {
+        return ((31 * row + col) * 31 + value) * 31 + previousValue;
+    }
+    @Override
+    public String toString() {
+        return "(" + row + ", " + col + ", " + value + ", " + previousValue + ")";
+    }
+}
@@ -0,0 +1,131 @@
+package Model;
+
+public class PackedBoard {
+    private final BoardGeometry geometry;
+    private final byte[] cells;
+    private final int[] unitMasks;
+    private final byte[] unitCounts;
+    private int emptyCount;
+
+    public PackedBoard() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public PackedBoard(int size) {
+        this(BoardGeometry.of(size));
+    }
+
+    public PackedBoard(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.cells = new byte[geometry.getCellCount()];
+        this.unitMasks = new int[geometry.getUnitCount()];
+        this.unitCounts = new byte[geometry.getUnitCount() * geometry.getSize()];
+        this.emptyCount = geometry.getCellCount();
+    }
+
+    private PackedBoard(PackedBoard other) {
+        this.geometry = other.geometry;
+        this.cells = other.cells.clone();
+        this.unitMasks = other.unitMasks.clone();
+        this.unitCounts = other.unitCounts.clone();
+        this.emptyCount = other.emptyCount;
+    }
+
+    public static PackedBoard fromArray(int[][] board) {
+        PackedBoard packed = new PackedBoard(board.length);
+        for (int row = 0; row < board.length; row++) {
+            if (board[row].length != board.length) {
+                throw new IllegalArgumentException("Board must be square: row " + row + " has " + board[row].length + " cells");
+            }
+            for (int col = 0; col < board.length; col++) {
+                if (board[row][col] != 0) packed.set(row, col, board[row][col]);
+            }
+        }
+        return packed;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getSize() {
+        return geometry.getSize();
+    }
+
+    public PackedBoard copy() {
+        return new PackedBoard(this);
+    }
+
+    public int get(int row, int col) {
+        return cells[row * geometry.getSize() + col];
+    }
+
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    public void set(int row, int col, int value) {
+        set(row * geometry.getSize() + col, value);
+    }
+
+    public void set(int cell, int value) {
+        int size = geometry.getSize();
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("Value must be between 0 and " + size + ": " + value);
+        }
+        int previous = cells[cell];
+        if (previous == value) return;
+        cells[cell] = (byte) value;
+        int[] units = geometry.unitsOf(cell);
+        if (previous != 0) {
+            int bit = 1 << (previous - 1);
+            for (int unit : units) {
+                if (--unitCounts[unit * size + previous - 1] == 0) unitMasks[unit] &= ~bit;
+            }
+            emptyCount++;
+        }
+        if (value != 0) {
+            int bit = 1 << (value - 1);
+            for (int unit : units) {
+                unitCounts[unit * size + value - 1]++;
+                unitMasks[unit] |= bit;
+            }
+            emptyCount--;
+        }
+    }
+
+    public int getUnitMask(int unit) {
+        return unitMasks[unit];
+    }
+
+    public int candidates(int cell) {
+        int[] units = geometry.unitsOf(cell);
+        return geometry.getAllMask() & ~(unitMasks[units[0]] | unitMasks[units[1]] | unitMasks[units[2]]);
+    }
+
+    public int getEmptyCount() {
+        return emptyCount;
+    }
+
+    public boolean isConsistent() {
+        int size = geometry.getSize();
+        int filled = cells.length - emptyCount;
+        for (int type = 0; type < 3; type++) {
+            int placed = 0;
+            for (int unit = type * size; unit < (type + 1) * size; unit++) {
+                placed += Integer.bitCount(unitMasks[unit]);
+            }
+            if (placed != filled) return false;
+        }
+        return true;
+    }
+
+    public int[][] toArray() {
+        int size = geometry.getSize();
+        int[][] board = new int[size][size];
+        for (int i = 0; i < cells.length; i++) {
+            board[i / size][i % size] = cells[i];
+        }
+        return board;
+    }
+}
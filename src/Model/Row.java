@@ -7,7 +7,10 @@ public class Row {
     private int[] rowElements;
 
     public Row() {
-        this.rowElements = new int[9];
+        this(9);
+    }
+    public Row(int size) {
+        this.rowElements = new int[size];
     }
     public int[] getRowElements() {
         return rowElements;
@@ -17,7 +20,7 @@ public class Row {
     }
     public HashMap<Integer, ArrayList<Integer>> getDuplicatedRow() {
         HashMap<Integer, ArrayList<Integer>> dup = new HashMap<>();
-        for(int i = 0; i < 9; i++) {
+        for(int i = 0; i < rowElements.length; i++) {
             int number = rowElements[i];
             if(number == 0) continue;
             if(!dup.containsKey(number))
@@ -0,0 +1,8 @@
+package Model;
+
+public enum SolverType {
+    BRUTE_FORCE,
+    BITMASK,
+    DANCING_LINKS,
+    PARALLEL
+}
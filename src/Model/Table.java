@@ -9,14 +9,18 @@ public class Table {
     private static Table table;
 
     private Table(String filePath) {
-        rows = new Row[9];
-        columns = new Column[9];
-        boxes = new Box[9];
-        for(int i = 0; i < 9; i++) {
-            rows[i] = new Row();
-            columns[i] = new Column();
+        this(CSVDatabaseManager.readBoard(filePath));
+    }
+    private Table(int[][] elements) {
+        int size = elements.length;
+        rows = new Row[size];
+        columns = new Column[size];
+        boxes = new Box[size];
+        for(int i = 0; i < size; i++) {
+            rows[i] = new Row(size);
+            columns[i] = new Column(size);
         }
-        CSVDatabaseManager.loadData(boxes, rows, columns, filePath);
+        CSVDatabaseManager.loadData(boxes, rows, columns, elements);
     }
     public static Table getTable(String filePath) {
         if(table == null) {
@@ -24,6 +28,9 @@ public class Table {
         }
         return table;
     }
+    public static Table fromBoard(int[][] board) {
+        return new Table(board);
+    }
     public static void resetTable() {
         table = null;
     }
@@ -36,4 +43,7 @@ public class Table {
     public Column[] getColumns() {
         return columns;
     }
+    public int getSize() {
+        return rows.length;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package Model;
+
+public enum Technique {
+    NAKED_SINGLE(Difficulty.EASY),
+    HIDDEN_SINGLE(Difficulty.EASY),
+    NAKED_PAIR(Difficulty.MEDIUM),
+    HIDDEN_PAIR(Difficulty.MEDIUM),
+    POINTING_PAIR(Difficulty.MEDIUM),
+    BOX_LINE_REDUCTION(Difficulty.MEDIUM),
+    NAKED_TRIPLE(Difficulty.MEDIUM),
+    HIDDEN_TRIPLE(Difficulty.MEDIUM),
+    X_WING(Difficulty.HARD),
+    TRIAL_AND_ERROR(Difficulty.HARD);
+
+    private final Difficulty difficulty;
+
+    Technique(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
@@ -0,0 +1,7 @@
+package Model;
+
+public enum ValidationMode {
+    SEQUENTIAL,
+    THREE_WORKERS,
+    UNIT_WORKERS
+}
@@ -0,0 +1,9 @@
+package Service;
+
+import Model.BoardGeometry;
+
+interface BatchKernel {
+    int lanes();
+
+    void verify(BoardGeometry geometry, short[] block, boolean[] duplicates, boolean[] empty);
+}
@@ -0,0 +1,107 @@
+package Service;
+
+import Exceptions.InvalidGameException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.concurrent.ForkJoinPool;
+
+public class BatchSolver {
+    private static final class Outcome {
+        private final int[][] solution;
+        private final boolean singleLine;
+        private final long micros;
+
+        private Outcome(int[][] solution, boolean singleLine, long micros) {
+            this.solution = solution;
+            this.singleLine = singleLine;
+            this.micros = micros;
+        }
+    }
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long solved;
+    private long unsolved;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BatchSolver <input> [output]");
+            System.exit(1);
+        }
+        Writer out = args.length > 1
+                ? new FileWriter(args[1])
+                : new OutputStreamWriter(System.out);
+        PrintStream report = args.length > 1 ? System.out : System.err;
+        BatchSolver batch = new BatchSolver();
+        long start = System.nanoTime();
+        try (PuzzleReader reader = new PuzzleReader(new BufferedReader(new FileReader(args[0])));
+             BufferedWriter writer = new BufferedWriter(out)) {
+            batch.run(reader, writer);
+        }
+        batch.printSummary(report, System.nanoTime() - start);
+    }
+
+    public void run(PuzzleReader reader, BufferedWriter writer) throws IOException {
+        ForkJoinPool pool = SharedPool.get();
+        OrderedWindow<Outcome> window = new OrderedWindow<>(pool, pool.getParallelism() * 4,
+                outcome -> write(outcome, writer));
+        int[][] board;
+        while ((board = reader.next()) != null) {
+            int[][] puzzle = board;
+            boolean singleLine = reader.isSingleLine();
+            window.submit(() -> solve(puzzle, singleLine));
+        }
+        window.drain();
+    }
+
+    public void printSummary(PrintStream out, long elapsedNanos) {
+        long total = solved + unsolved;
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Puzzles: %d (solved %d, unsolved %d)%n", total, solved, unsolved);
+        out.printf("Elapsed: %.3f s, throughput: %.1f puzzles/sec%n", seconds, seconds > 0 ? total / seconds : 0.0);
+        out.printf("Solve latency: p50 %d us, p99 %d us, max %d us%n",
+                histogram.percentile(50), histogram.percentile(99), histogram.getMax());
+    }
+
+    private static Outcome solve(int[][] puzzle, boolean singleLine) {
+        long start = System.nanoTime();
+        int[][] solution;
+        try {
+            solution = BitmaskSolver.solveBoard(puzzle);
+        } catch (InvalidGameException e) {
+            solution = null;
+        }
+        return new Outcome(solution, singleLine, (System.nanoTime() - start) / 1000);
+    }
+
+    private void write(Outcome outcome, BufferedWriter writer) throws IOException {
+        histogram.record(outcome.micros);
+        if (outcome.solution == null) {
+            unsolved++;
+            writer.write("unsolvable");
+            writer.newLine();
+            if (!outcome.singleLine) writer.newLine();
+            return;
+        }
+        solved++;
+        int size = outcome.solution.length;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (outcome.singleLine) {
+                    writer.write(PuzzleReader.symbolOf(outcome.solution[row][col]));
+                } else {
+                    if (col > 0) writer.write(',');
+                    writer.write(Integer.toString(outcome.solution[row][col]));
+                }
+            }
+            if (!outcome.singleLine) writer.newLine();
+        }
+        writer.newLine();
+    }
+}
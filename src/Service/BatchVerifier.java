@@ -0,0 +1,183 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.GameState;
+import Model.PackedBoard;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public class BatchVerifier {
+    private static final String VECTOR_KERNEL = "Service.VectorBatchKernel";
+    private static final int SPLIT_BLOCKS = 64;
+    private static final BatchKernel KERNEL = loadKernel();
+
+    private static final ThreadLocal<Scratch[]> LOCAL =
+            ThreadLocal.withInitial(() -> new Scratch[BoardGeometry.MAX_BOX_SIZE + 1]);
+
+    private static final class Scratch {
+        private final short[] block;
+        private final boolean[] duplicates;
+        private final boolean[] empty;
+
+        private Scratch(BoardGeometry geometry, int lanes) {
+            this.block = new short[geometry.getCellCount() * lanes];
+            this.duplicates = new boolean[lanes];
+            this.empty = new boolean[lanes];
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class BlockTask extends RecursiveAction {
+        private final IntConsumer verifier;
+        private final int from;
+        private final int to;
+
+        public BlockTask(IntConsumer verifier, int from, int to) {
+            this.verifier = verifier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_BLOCKS) {
+                for (int block = from; block < to; block++) verifier.accept(block);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BlockTask(verifier, from, middle), new BlockTask(verifier, middle, to));
+        }
+    }
+
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarBatchKernel);
+    }
+
+    /**
+     * Only raw int[][] batches go through the lane kernel. Lanes hold one bit per
+     * digit in a short, so boards wider than 16x16 are verified one board per task
+     * on the shared pool instead. PackedBoard batches skip the kernel entirely:
+     * their maintained unit masks already answer the check in O(units) per board.
+     */
+    public static boolean isVectorized(int size) {
+        return isVectorized() && fitsLane(size);
+    }
+
+    public static int getLanes() {
+        return KERNEL.lanes();
+    }
+
+    public static GameState[] verify(List<PackedBoard> boards) {
+        return verify(boards.toArray(new PackedBoard[0]));
+    }
+
+    public static GameState[] verify(PackedBoard[] boards) {
+        GameState[] states = new GameState[boards.length];
+        int lanes = KERNEL.lanes();
+        run(blocks(boards.length), block -> {
+            for (int i = block * lanes, end = Math.min(boards.length, i + lanes); i < end; i++) {
+                PackedBoard board = boards[i];
+                states[i] = !board.isConsistent() ? GameState.INVALID
+                        : board.getEmptyCount() > 0 ? GameState.INCOMPLETE : GameState.VALID;
+            }
+        });
+        return states;
+    }
+
+    public static GameState[] verify(int[][][] boards) {
+        GameState[] states = new GameState[boards.length];
+        if (boards.length == 0) return states;
+        BoardGeometry geometry = BoardGeometry.of(boards[0].length);
+        int size = geometry.getSize();
+        for (int[][] board : boards) {
+            if (board.length != size) {
+                throw new IllegalArgumentException("All boards in a batch must be " + size + "x" + size);
+            }
+        }
+        if (!fitsLane(size)) {
+            run(boards.length, index -> states[index] = SequentialVerifier.verify(boards[index]).getState());
+        } else {
+            run(blocks(boards.length), block -> verifyBlock(boards, geometry, states, block));
+        }
+        return states;
+    }
+
+    private static boolean fitsLane(int size) {
+        return size <= Short.SIZE;
+    }
+
+    private static int blocks(int boards) {
+        return (boards + KERNEL.lanes() - 1) / KERNEL.lanes();
+    }
+
+    private static void run(int blocks, IntConsumer verifier) {
+        if (blocks <= SPLIT_BLOCKS) {
+            for (int block = 0; block < blocks; block++) verifier.accept(block);
+        } else {
+            SharedPool.get().invoke(new BlockTask(verifier, 0, blocks));
+        }
+    }
+
+    private static void verifyBlock(int[][][] boards, BoardGeometry geometry, GameState[] states, int block) {
+        int size = geometry.getSize();
+        int lanes = KERNEL.lanes();
+        Scratch scratch = scratch(geometry, lanes);
+        short[] cells = scratch.block;
+        int first = block * lanes;
+        int count = Math.min(lanes, boards.length - first);
+        for (int lane = 0; lane < lanes; lane++) {
+            if (lane < count) {
+                int[][] board = boards[first + lane];
+                int index = lane;
+                for (int row = 0; row < size; row++) {
+                    int[] values = board[row];
+                    if (values.length != size) {
+                        throw new IllegalArgumentException("Board must be square: row " + row + " has " + values.length + " cells");
+                    }
+                    for (int col = 0; col < size; col++, index += lanes) {
+                        int value = values[col];
+                        if (value < 0 || value > size) {
+                            throw new IllegalArgumentException("Value must be between 0 and " + size + ": " + value);
+                        }
+                        cells[index] = value == 0 ? 0 : (short) (1 << (value - 1));
+                    }
+                }
+            } else {
+                clearLane(cells, lane, lanes);
+            }
+        }
+        collect(geometry, scratch, states, first, count);
+    }
+
+    private static void clearLane(short[] cells, int lane, int lanes) {
+        for (int index = lane; index < cells.length; index += lanes) cells[index] = 0;
+    }
+
+    private static void collect(BoardGeometry geometry, Scratch scratch, GameState[] states, int first, int count) {
+        KERNEL.verify(geometry, scratch.block, scratch.duplicates, scratch.empty);
+        for (int lane = 0; lane < count; lane++) {
+            states[first + lane] = scratch.duplicates[lane] ? GameState.INVALID
+                    : scratch.empty[lane] ? GameState.INCOMPLETE : GameState.VALID;
+        }
+    }
+
+    private static Scratch scratch(BoardGeometry geometry, int lanes) {
+        Scratch[] local = LOCAL.get();
+        Scratch scratch = local[geometry.getBoxSize()];
+        if (scratch == null) {
+            scratch = new Scratch(geometry, lanes);
+            local[geometry.getBoxSize()] = scratch;
+        }
+        return scratch;
+    }
+
+    private static BatchKernel loadKernel() {
+        try {
+            return (BatchKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarBatchKernel();
+        }
+    }
+}
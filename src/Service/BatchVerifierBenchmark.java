@@ -0,0 +1,61 @@
+package Service;
+
+import Model.GameState;
+import Exceptions.InvalidGameException;
+
+import java.util.Random;
+
+public class BatchVerifierBenchmark {
+    private static final int DEFAULT_COUNT = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InvalidGameException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNT;
+        int[][] solution = BitmaskSolver.solveBoard(new int[9][9]);
+        int[][][] boards = boards(solution, count, new Random(42));
+
+        GameState[] expected = new GameState[count];
+        GameState[] actual = null;
+        long sequential = Long.MAX_VALUE;
+        long batch = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) expected[i] = SequentialVerifier.verify(boards[i]).getState();
+            sequential = Math.min(sequential, System.nanoTime() - start);
+            start = System.nanoTime();
+            actual = BatchVerifier.verify(boards);
+            batch = Math.min(batch, System.nanoTime() - start);
+        }
+        int mismatches = 0;
+        for (int i = 0; i < count; i++) {
+            if (expected[i] != actual[i]) mismatches++;
+        }
+
+        System.out.printf("Boards: %d, kernel: %s, lanes: %d%n", count,
+                BatchVerifier.isVectorized() ? "vector" : "scalar", BatchVerifier.getLanes());
+        System.out.printf("Sequential: %8d us, %12.0f boards/sec%n", sequential / 1000, count / (sequential / 1e9));
+        System.out.printf("Batch:      %8d us, %12.0f boards/sec (%.2fx)%n", batch / 1000, count / (batch / 1e9),
+                batch > 0 ? (double) sequential / batch : 0.0);
+        System.out.println("Mismatches: " + mismatches);
+    }
+
+    private static int[][][] boards(int[][] solution, int count, Random random) {
+        int[][][] boards = new int[count][][];
+        for (int i = 0; i < count; i++) {
+            int[][] board = new int[9][];
+            for (int row = 0; row < 9; row++) board[row] = solution[row].clone();
+            switch (random.nextInt(3)) {
+                case 1:
+                    board[random.nextInt(9)][random.nextInt(9)] = 0;
+                    break;
+                case 2:
+                    board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+                    break;
+                default:
+                    break;
+            }
+            boards[i] = board;
+        }
+        return boards;
+    }
+}
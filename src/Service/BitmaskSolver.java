@@ -0,0 +1,425 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.Game;
+import Model.PackedBoard;
+import Exceptions.InvalidGameException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BitmaskSolver {
+    private static final int POLL_INTERVAL = 1024;
+
+    private static final ThreadLocal<BitmaskSolver[]> LOCAL =
+            ThreadLocal.withInitial(() -> new BitmaskSolver[BoardGeometry.MAX_BOX_SIZE + 1]);
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cellCount;
+    private final int unitCount;
+    private final int all;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final int[] cells;
+    private final int[] used;
+    private final int[] solution;
+    private final int[][] cellStack;
+    private final int[][] usedStack;
+    private final int[] emptyStack;
+    private int emptyCount;
+    private int solutionCount;
+    private int limit;
+    private long nodes;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean exhausted;
+    private AtomicBoolean stopFlag;
+    private SolveMonitor monitor;
+    private SplittableRandom random;
+    private int sincePoll;
+
+    public BitmaskSolver() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public BitmaskSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.unitCount = geometry.getUnitCount();
+        this.all = geometry.getAllMask();
+        this.rowOf = new int[cellCount];
+        this.colOf = new int[cellCount];
+        this.boxOf = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            rowOf[i] = geometry.rowOf(i);
+            colOf[i] = geometry.colOf(i);
+            boxOf[i] = geometry.boxOf(i);
+        }
+        this.cells = new int[cellCount];
+        this.used = new int[unitCount];
+        this.solution = new int[cellCount];
+        this.cellStack = new int[cellCount + 1][cellCount];
+        this.usedStack = new int[cellCount + 1][unitCount];
+        this.emptyStack = new int[cellCount + 1];
+    }
+
+    static BitmaskSolver local(BoardGeometry geometry) {
+        BitmaskSolver[] solvers = LOCAL.get();
+        BitmaskSolver solver = solvers[geometry.getBoxSize()];
+        if (solver == null) {
+            solver = new BitmaskSolver(geometry);
+            solvers[geometry.getBoxSize()] = solver;
+        }
+        return solver;
+    }
+
+    static BitmaskSolver local(int size) {
+        return local(BoardGeometry.of(size));
+    }
+
+    public static int[] solve(Game game) throws InvalidGameException {
+        return solve(game, null);
+    }
+
+    public static int[] solve(Game game, SolveMonitor monitor) throws InvalidGameException {
+        PackedBoard board = game.getPackedBoard();
+        BitmaskSolver solver = local(board.getGeometry());
+        if (!solver.load(board)) throw new InvalidGameException("Board contains conflicting values");
+        solver.setMonitor(monitor);
+        try {
+            if (solver.search(1) == 0) {
+                if (monitor != null) monitor.checkStopped();
+                throw new InvalidGameException("No solution found for the board");
+            }
+        } finally {
+            solver.setMonitor(null);
+        }
+        return solver.encode(board);
+    }
+
+    public static int[][] solveBoard(int[][] board) throws InvalidGameException {
+        BitmaskSolver solver = local(board.length);
+        if (!solver.load(board)) throw new InvalidGameException("Board contains conflicting values");
+        if (solver.search(1) == 0) throw new InvalidGameException("No solution found for the board");
+        return solver.getSolution();
+    }
+
+    public static int countSolutions(int[][] board, int cap) {
+        if (cap < 1) throw new IllegalArgumentException("cap must be at least 1");
+        BitmaskSolver solver = local(board.length);
+        if (!solver.load(board)) return 0;
+        return solver.search(cap);
+    }
+
+    public static boolean hasUniqueSolution(int[][] board) {
+        return countSolutions(board, 2) == 1;
+    }
+
+    static int countSolutions(BoardGeometry geometry, int[] values, int cap) {
+        if (cap < 1) throw new IllegalArgumentException("cap must be at least 1");
+        BitmaskSolver solver = local(geometry);
+        if (!solver.load(values)) return 0;
+        return solver.search(cap);
+    }
+
+    static boolean hasOtherSolution(BoardGeometry geometry, int[] values, int cell, int value, long nodeBudget) {
+        BitmaskSolver solver = local(geometry);
+        if (!solver.load(values)) return false;
+        int others = solver.candidates(cell) & ~(1 << (value - 1));
+        boolean fresh = true;
+        long spent = 0;
+        try {
+            while (others != 0) {
+                int bit = others & -others;
+                others ^= bit;
+                if (!fresh) solver.load(values);
+                fresh = false;
+                solver.place(cell, bit);
+                solver.nodeLimit = nodeBudget - spent;
+                int found = solver.search(1);
+                spent += solver.nodes;
+                if (found > 0 || solver.exhausted) return true;
+            }
+            return false;
+        } finally {
+            solver.nodeLimit = Long.MAX_VALUE;
+            solver.nodes = spent;
+        }
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public boolean load(int[][] board) {
+        if (board.length != size) throw new IllegalArgumentException("Expected a " + size + "x" + size + " board");
+        reset();
+        for (int i = 0; i < cellCount; i++) {
+            if (!loadValue(i, board[rowOf[i]][colOf[i]])) return false;
+        }
+        return true;
+    }
+
+    public boolean load(PackedBoard board) {
+        if (board.getGeometry() != geometry) throw new IllegalArgumentException("Expected a " + size + "x" + size + " board");
+        if (!board.isConsistent()) return false;
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = board.get(i);
+        }
+        for (int u = 0; u < unitCount; u++) {
+            used[u] = board.getUnitMask(u);
+        }
+        emptyCount = board.getEmptyCount();
+        solutionCount = 0;
+        nodes = 0;
+        return true;
+    }
+
+    boolean load(int[] values) {
+        reset();
+        for (int i = 0; i < cellCount; i++) {
+            if (!loadValue(i, values[i])) return false;
+        }
+        return true;
+    }
+
+    void setStopFlag(AtomicBoolean stopFlag) {
+        this.stopFlag = stopFlag;
+    }
+
+    void setMonitor(SolveMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    int branchCell() {
+        if (!propagate()) return -1;
+        if (emptyCount == 0) {
+            System.arraycopy(cells, 0, solution, 0, cellCount);
+            return -2;
+        }
+        return pickCell();
+    }
+
+    int candidatesOf(int cell) {
+        return candidates(cell);
+    }
+
+    int[] cellValues() {
+        return cells.clone();
+    }
+
+    int[] solutionValues() {
+        return solution.clone();
+    }
+
+    private void reset() {
+        Arrays.fill(cells, 0);
+        Arrays.fill(used, 0);
+        emptyCount = cellCount;
+        solutionCount = 0;
+        nodes = 0;
+    }
+
+    private boolean loadValue(int i, int value) {
+        if (value == 0) return true;
+        if (value < 0 || value > size) return false;
+        int bit = 1 << (value - 1);
+        if ((~candidates(i) & bit) != 0) return false;
+        place(i, bit);
+        return true;
+    }
+
+    public int search(int limit) {
+        this.limit = limit;
+        solutionCount = 0;
+        nodes = 0;
+        sincePoll = 0;
+        exhausted = false;
+        explore(0);
+        if (monitor != null) monitor.addNodes(sincePoll);
+        return solutionCount;
+    }
+
+    public int[][] getSolution() {
+        int[][] result = new int[size][size];
+        for (int i = 0; i < cellCount; i++) {
+            result[rowOf[i]][colOf[i]] = solution[i];
+        }
+        return result;
+    }
+
+    public int[] encodeSolution(int[][] board) {
+        return encode(board, solution);
+    }
+
+    int[] encode(PackedBoard board) {
+        return encode(board, solution);
+    }
+
+    static int[] encode(PackedBoard board, int[] solution) {
+        int size = board.getSize();
+        int[] encoded = new int[board.getEmptyCount()];
+        int index = 0;
+        for (int i = 0; i < solution.length; i++) {
+            if (board.get(i) == 0) {
+                encoded[index++] = i * size + (solution[i] - 1);
+            }
+        }
+        return encoded;
+    }
+
+    static int[] encode(int[][] board, int[] solution) {
+        int size = board.length;
+        int empty = 0;
+        for (int i = 0; i < solution.length; i++) {
+            if (board[i / size][i % size] == 0) empty++;
+        }
+        int[] encoded = new int[empty];
+        int index = 0;
+        for (int i = 0; i < solution.length; i++) {
+            if (board[i / size][i % size] == 0) {
+                encoded[index++] = i * size + (solution[i] - 1);
+            }
+        }
+        return encoded;
+    }
+
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    private boolean explore(int depth) {
+        if (stopFlag != null && stopFlag.get()) return true;
+        if (monitor != null && ++sincePoll >= POLL_INTERVAL) {
+            monitor.addNodes(sincePoll);
+            sincePoll = 0;
+            if (monitor.shouldStop()) return true;
+        }
+        if (nodes >= nodeLimit) {
+            exhausted = true;
+            return true;
+        }
+        if (!propagate()) return false;
+        if (emptyCount == 0) {
+            if (solutionCount++ == 0) System.arraycopy(cells, 0, solution, 0, cellCount);
+            return solutionCount >= limit;
+        }
+        int best = pickCell();
+        int bestCandidates = candidates(best);
+        save(depth);
+        while (bestCandidates != 0) {
+            int bit = random == null ? bestCandidates & -bestCandidates : randomBit(bestCandidates);
+            bestCandidates ^= bit;
+            nodes++;
+            place(best, bit);
+            if (explore(depth + 1)) return true;
+            restore(depth);
+        }
+        return false;
+    }
+
+    private int randomBit(int mask) {
+        for (int skip = random.nextInt(Integer.bitCount(mask)); skip > 0; skip--) mask &= mask - 1;
+        return mask & -mask;
+    }
+
+    private int pickCell() {
+        int best = -1;
+        int bestCount = size + 1;
+        for (int i = 0; i < cellCount; i++) {
+            if (cells[i] != 0) continue;
+            int count = Integer.bitCount(candidates(i));
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+                if (count == 2) break;
+            }
+        }
+        return best;
+    }
+
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < cellCount; i++) {
+                if (cells[i] != 0) continue;
+                int candidates = candidates(i);
+                if (candidates == 0) return false;
+                if ((candidates & (candidates - 1)) == 0) {
+                    place(i, candidates);
+                    changed = true;
+                }
+            }
+            for (int u = 0; u < unitCount; u++) {
+                int[] unit = geometry.cellsOf(u);
+                int once = 0;
+                int twice = 0;
+                for (int k = 0; k < size; k++) {
+                    int i = unit[k];
+                    if (cells[i] != 0) continue;
+                    int candidates = candidates(i);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+                if ((once | used[u]) != all) return false;
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    int target = -1;
+                    for (int k = 0; k < size; k++) {
+                        int i = unit[k];
+                        if (cells[i] == 0 && (candidates(i) & bit) != 0) {
+                            target = i;
+                            break;
+                        }
+                    }
+                    if (target < 0) return false;
+                    place(target, bit);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int candidates(int i) {
+        return all & ~(used[rowOf[i]] | used[size + colOf[i]] | used[2 * size + boxOf[i]]);
+    }
+
+    private void place(int i, int bit) {
+        cells[i] = Integer.numberOfTrailingZeros(bit) + 1;
+        used[rowOf[i]] |= bit;
+        used[size + colOf[i]] |= bit;
+        used[2 * size + boxOf[i]] |= bit;
+        emptyCount--;
+    }
+
+    private void save(int depth) {
+        System.arraycopy(cells, 0, cellStack[depth], 0, cellCount);
+        System.arraycopy(used, 0, usedStack[depth], 0, unitCount);
+        emptyStack[depth] = emptyCount;
+    }
+
+    private void restore(int depth) {
+        System.arraycopy(cellStack[depth], 0, cells, 0, cellCount);
+        System.arraycopy(usedStack[depth], 0, used, 0, unitCount);
+        emptyCount = emptyStack[depth];
+    }
+}
@@ -0,0 +1,135 @@
+package Service;
+
+import Model.GameState;
+import Model.LocationOnBoard;
+import Model.PackedBoard;
+import Model.VerificationResult;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+public class BulkVerifier {
+    private static final class Outcome {
+        private final String path;
+        private final GameState state;
+        private final Set<LocationOnBoard> conflicts;
+        private final String error;
+        private final long micros;
+
+        private Outcome(String path, GameState state, Set<LocationOnBoard> conflicts, String error, long micros) {
+            this.path = path;
+            this.state = state;
+            this.conflicts = conflicts;
+            this.error = error;
+            this.micros = micros;
+        }
+    }
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long valid;
+    private long invalid;
+    private long incomplete;
+    private long errors;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BulkVerifier <directory> [report]");
+            System.exit(1);
+        }
+        Writer out = args.length > 1
+                ? new FileWriter(args[1])
+                : new OutputStreamWriter(System.out);
+        PrintStream report = args.length > 1 ? System.out : System.err;
+        BulkVerifier bulk = new BulkVerifier();
+        long start = System.nanoTime();
+        try (BufferedWriter writer = new BufferedWriter(out)) {
+            bulk.run(Paths.get(args[0]), writer);
+        }
+        bulk.printSummary(report, System.nanoTime() - start);
+    }
+
+    public void run(Path root, BufferedWriter writer) throws IOException {
+        ForkJoinPool pool = SharedPool.get();
+        OrderedWindow<Outcome> window = new OrderedWindow<>(pool, pool.getParallelism() * 4,
+                outcome -> write(outcome, writer));
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files
+                    .filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".csv"))
+                    .iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String name = root.relativize(file).toString();
+                window.submit(() -> verify(file, name));
+            }
+        }
+        window.drain();
+    }
+
+    public void printSummary(PrintStream out, long elapsedNanos) {
+        long total = valid + invalid + incomplete + errors;
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Files: %d (valid %d, invalid %d, incomplete %d, unreadable %d)%n",
+                total, valid, invalid, incomplete, errors);
+        out.printf("Elapsed: %.3f s, throughput: %.1f files/sec%n", seconds, seconds > 0 ? total / seconds : 0.0);
+        out.printf("Per-file latency: p50 %d us, p99 %d us, max %d us%n",
+                histogram.percentile(50), histogram.percentile(99), histogram.getMax());
+    }
+
+    private static Outcome verify(Path file, String name) {
+        long start = System.nanoTime();
+        try (PuzzleReader reader = new PuzzleReader(Files.newBufferedReader(file))) {
+            int[][] board = reader.next();
+            if (board == null) return new Outcome(name, null, null, "empty file", elapsedMicros(start));
+            VerificationResult result = SequentialVerifier.verify(PackedBoard.fromArray(board));
+            Set<LocationOnBoard> conflicts = new LinkedHashSet<>(result.getDuplicateLocations());
+            return new Outcome(name, result.getState(), conflicts, null, elapsedMicros(start));
+        } catch (IOException | IllegalArgumentException e) {
+            return new Outcome(name, null, null, e.getMessage(), elapsedMicros(start));
+        }
+    }
+
+    private static long elapsedMicros(long start) {
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    private void write(Outcome outcome, BufferedWriter writer) throws IOException {
+        histogram.record(outcome.micros);
+        writer.write(outcome.path);
+        writer.write(": ");
+        if (outcome.error != null) {
+            errors++;
+            writer.write("ERROR ");
+            writer.write(outcome.error);
+            writer.newLine();
+            return;
+        }
+        writer.write(outcome.state.toString());
+        switch (outcome.state) {
+            case VALID:
+                valid++;
+                break;
+            case INCOMPLETE:
+                incomplete++;
+                break;
+            default:
+                invalid++;
+                for (LocationOnBoard location : outcome.conflicts) {
+                    writer.write(' ');
+                    writer.write(location.toString());
+                }
+        }
+        writer.newLine();
+    }
+}
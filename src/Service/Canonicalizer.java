@@ -0,0 +1,114 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.BoardTransform;
+import Model.PackedBoard;
+
+import java.util.Arrays;
+
+public class Canonicalizer {
+    public static BoardTransform canonicalize(PackedBoard board) {
+        BoardGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        int[] values = new int[geometry.getCellCount()];
+        for (int i = 0; i < values.length; i++) values[i] = board.get(i);
+        BoardTransform best = null;
+        int[] bestValues = null;
+        for (int orientation = 0; orientation < 2; orientation++) {
+            boolean transpose = orientation == 1;
+            int[] oriented = transpose ? transpose(values, size) : values;
+            BoardTransform candidate = orient(oriented, geometry, transpose);
+            int[] result = candidate.apply(values);
+            if (bestValues == null || Arrays.compare(result, bestValues) < 0) {
+                best = candidate;
+                bestValues = result;
+            }
+        }
+        return best;
+    }
+
+    private static BoardTransform orient(int[] values, BoardGeometry geometry, boolean transpose) {
+        int size = geometry.getSize();
+        int[] rowCount = new int[size];
+        int[] colCount = new int[size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (values[r * size + c] != 0) {
+                    rowCount[r]++;
+                    colCount[c]++;
+                }
+            }
+        }
+        long[] rowKeys = new long[size];
+        long[] colKeys = new long[size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (values[r * size + c] != 0) {
+                    rowKeys[r] += colCount[c];
+                    colKeys[c] += rowCount[r];
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            rowKeys[i] = (rowKeys[i] + (long) rowCount[i] * (size * size + 1)) << size;
+            colKeys[i] = (colKeys[i] + (long) colCount[i] * (size * size + 1)) << size;
+        }
+        int[] colOrder = order(colKeys, geometry);
+        int[] rowOrder = order(withPattern(rowKeys, values, colOrder, size, false), geometry);
+        colOrder = order(withPattern(colKeys, values, rowOrder, size, true), geometry);
+        int[] digitMap = new int[size + 1];
+        int next = 1;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int value = values[rowOrder[r] * size + colOrder[c]];
+                if (value != 0 && digitMap[value] == 0) digitMap[value] = next++;
+            }
+        }
+        for (int d = 1; d <= size; d++) {
+            if (digitMap[d] == 0) digitMap[d] = next++;
+        }
+        return new BoardTransform(transpose, rowOrder, colOrder, digitMap);
+    }
+
+    private static long[] withPattern(long[] keys, int[] values, int[] crossOrder, int size, boolean columns) {
+        long[] result = keys.clone();
+        for (int line = 0; line < size; line++) {
+            long pattern = 0;
+            for (int p = 0; p < size; p++) {
+                int cell = columns ? crossOrder[p] * size + line : line * size + crossOrder[p];
+                if (values[cell] != 0) pattern |= 1L << (size - 1 - p);
+            }
+            result[line] |= pattern;
+        }
+        return result;
+    }
+
+    private static int[] order(long[] keys, BoardGeometry geometry) {
+        int boxSize = geometry.getBoxSize();
+        Integer[][] bands = new Integer[boxSize][boxSize];
+        for (int band = 0; band < boxSize; band++) {
+            for (int k = 0; k < boxSize; k++) bands[band][k] = band * boxSize + k;
+            Arrays.sort(bands[band], (a, b) -> Long.compare(keys[a], keys[b]));
+        }
+        Arrays.sort(bands, (a, b) -> {
+            for (int k = 0; k < boxSize; k++) {
+                int cmp = Long.compare(keys[a[k]], keys[b[k]]);
+                if (cmp != 0) return cmp;
+            }
+            return 0;
+        });
+        int[] order = new int[geometry.getSize()];
+        for (int band = 0; band < boxSize; band++) {
+            for (int k = 0; k < boxSize; k++) order[band * boxSize + k] = bands[band][k];
+        }
+        return order;
+    }
+
+    private static int[] transpose(int[] values, int size) {
+        int[] result = new int[values.length];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) result[c * size + r] = values[r * size + c];
+        }
+        return result;
+    }
+}
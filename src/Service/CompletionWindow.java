@@ -0,0 +1,51 @@
+package Service;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+public class CompletionWindow<T> {
+    public interface Sink<T> {
+        void accept(T result) throws IOException;
+    }
+
+    private final CompletionService<T> completion;
+    private final Semaphore slots;
+    private final Sink<T> sink;
+    private int pending;
+
+    public CompletionWindow(ExecutorService executor, int capacity, Sink<T> sink) {
+        this.completion = new ExecutorCompletionService<>(executor);
+        this.slots = new Semaphore(capacity);
+        this.sink = sink;
+    }
+
+    public void submit(Callable<T> task) throws IOException {
+        while (!slots.tryAcquire()) emitNext();
+        completion.submit(task);
+        pending++;
+    }
+
+    public void drain() throws IOException {
+        while (pending > 0) emitNext();
+    }
+
+    private void emitNext() throws IOException {
+        try {
+            Future<T> done = completion.take();
+            pending--;
+            slots.release();
+            sink.accept(done.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for result", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Task failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
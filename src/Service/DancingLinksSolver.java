@@ -0,0 +1,279 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.Game;
+import Exceptions.InvalidGameException;
+
+public class DancingLinksSolver {
+    private static final int ROOT = 0;
+    private static final int POLL_INTERVAL = 1024;
+
+    private static final ThreadLocal<DancingLinksSolver[]> LOCAL =
+            ThreadLocal.withInitial(() -> new DancingLinksSolver[BoardGeometry.MAX_BOX_SIZE + 1]);
+
+    private final BoardGeometry geometry;
+    private final int boardSize;
+    private final int cellCount;
+    private final int columns;
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] rowOf;
+    private final int[] size;
+    private final int[] rowHead;
+    private final int[] givens;
+    private final int[] partial;
+    private final int[] solution;
+    private int solutionCount;
+    private int limit;
+    private long nodes;
+    private SolveMonitor monitor;
+    private int sincePoll;
+
+    public DancingLinksSolver() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public DancingLinksSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.boardSize = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.columns = 4 * cellCount;
+        int rows = cellCount * boardSize;
+        int nodeCount = 1 + columns + rows * 4;
+        this.left = new int[nodeCount];
+        this.right = new int[nodeCount];
+        this.up = new int[nodeCount];
+        this.down = new int[nodeCount];
+        this.column = new int[nodeCount];
+        this.rowOf = new int[nodeCount];
+        this.size = new int[columns + 1];
+        this.rowHead = new int[rows];
+        this.givens = new int[cellCount];
+        this.partial = new int[cellCount];
+        this.solution = new int[cellCount];
+        for (int c = 0; c <= columns; c++) {
+            left[c] = c == 0 ? columns : c - 1;
+            right[c] = c == columns ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+        int node = columns + 1;
+        for (int r = 0; r < rows; r++) {
+            int cell = r / boardSize;
+            int digit = r % boardSize;
+            int[] targets = {
+                    1 + cell,
+                    1 + cellCount + geometry.rowOf(cell) * boardSize + digit,
+                    1 + 2 * cellCount + geometry.colOf(cell) * boardSize + digit,
+                    1 + 3 * cellCount + geometry.boxOf(cell) * boardSize + digit
+            };
+            rowHead[r] = node;
+            for (int k = 0; k < 4; k++) {
+                int c = targets[k];
+                int n = node + k;
+                column[n] = c;
+                rowOf[n] = r;
+                up[n] = up[c];
+                down[n] = c;
+                down[up[c]] = n;
+                up[c] = n;
+                size[c]++;
+                left[n] = node + (k + 3) % 4;
+                right[n] = node + (k + 1) % 4;
+            }
+            node += 4;
+        }
+    }
+
+    public static int[] solve(Game game) throws InvalidGameException {
+        return solve(game, null);
+    }
+
+    public static int[] solve(Game game, SolveMonitor monitor) throws InvalidGameException {
+        int[][] board = game.getBoard();
+        DancingLinksSolver solver = local(game.getPackedBoard().getGeometry());
+        solver.monitor = monitor;
+        int found;
+        try {
+            found = solver.solve(board, 1);
+        } finally {
+            solver.monitor = null;
+        }
+        if (found < 0) throw new InvalidGameException("Board contains conflicting values");
+        if (found == 0) {
+            if (monitor != null) monitor.checkStopped();
+            throw new InvalidGameException("No solution found for the board");
+        }
+        return solver.encodeSolution(board);
+    }
+
+    static DancingLinksSolver local(BoardGeometry geometry) {
+        DancingLinksSolver[] solvers = LOCAL.get();
+        DancingLinksSolver solver = solvers[geometry.getBoxSize()];
+        if (solver == null) {
+            solver = new DancingLinksSolver(geometry);
+            solvers[geometry.getBoxSize()] = solver;
+        }
+        return solver;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int solve(int[][] board, int limit) {
+        if (board.length != boardSize) throw new IllegalArgumentException("Expected a " + boardSize + "x" + boardSize + " board");
+        this.limit = limit;
+        solutionCount = 0;
+        nodes = 0;
+        sincePoll = 0;
+        int placed = 0;
+        boolean consistent = true;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = board[cell / boardSize][cell % boardSize];
+            if (value == 0) continue;
+            if (value < 0 || value > boardSize) {
+                consistent = false;
+                break;
+            }
+            int r = cell * boardSize + value - 1;
+            if (!selectable(r)) {
+                consistent = false;
+                break;
+            }
+            select(r);
+            givens[placed++] = r;
+            partial[cell] = value;
+        }
+        if (consistent) {
+            System.arraycopy(partial, 0, solution, 0, cellCount);
+            search(placed);
+            if (monitor != null) monitor.addNodes(sincePoll);
+        }
+        for (int k = placed - 1; k >= 0; k--) {
+            deselect(givens[k]);
+        }
+        return consistent ? solutionCount : -1;
+    }
+
+    public int[][] getSolution() {
+        int[][] result = new int[boardSize][boardSize];
+        for (int cell = 0; cell < cellCount; cell++) {
+            result[cell / boardSize][cell % boardSize] = solution[cell];
+        }
+        return result;
+    }
+
+    public int[] encodeSolution(int[][] board) {
+        int empty = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (board[cell / boardSize][cell % boardSize] == 0) empty++;
+        }
+        int[] encoded = new int[empty];
+        int index = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / boardSize;
+            int col = cell % boardSize;
+            if (board[row][col] == 0) {
+                encoded[index++] = cell * boardSize + (solution[cell] - 1);
+            }
+        }
+        return encoded;
+    }
+
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    private boolean search(int depth) {
+        if (right[ROOT] == ROOT) {
+            if (solutionCount++ == 0) System.arraycopy(partial, 0, solution, 0, cellCount);
+            return solutionCount >= limit;
+        }
+        int best = right[ROOT];
+        for (int c = right[best]; c != ROOT; c = right[c]) {
+            if (size[c] < size[best]) {
+                best = c;
+                if (size[c] <= 1) break;
+            }
+        }
+        if (size[best] == 0) return false;
+        if (monitor != null && ++sincePoll >= POLL_INTERVAL) {
+            monitor.addNodes(sincePoll);
+            sincePoll = 0;
+            if (monitor.shouldStop()) return true;
+        }
+        cover(best);
+        boolean stop = false;
+        for (int r = down[best]; r != best && !stop; r = down[r]) {
+            nodes++;
+            for (int j = right[r]; j != r; j = right[j]) cover(column[j]);
+            int cell = rowOf[r] / boardSize;
+            partial[cell] = rowOf[r] % boardSize + 1;
+            stop = search(depth + 1);
+            partial[cell] = 0;
+            for (int j = left[r]; j != r; j = left[j]) uncover(column[j]);
+        }
+        uncover(best);
+        return stop;
+    }
+
+    private boolean selectable(int r) {
+        int head = rowHead[r];
+        int n = head;
+        do {
+            int c = column[n];
+            if (right[left[c]] != c) return false;
+            n = right[n];
+        } while (n != head);
+        return true;
+    }
+
+    private void select(int r) {
+        int head = rowHead[r];
+        int n = head;
+        do {
+            cover(column[n]);
+            n = right[n];
+        } while (n != head);
+    }
+
+    private void deselect(int r) {
+        int head = rowHead[r];
+        int n = left[head];
+        while (true) {
+            uncover(column[n]);
+            if (n == head) break;
+            n = left[n];
+        }
+        partial[rowOf[head] / boardSize] = 0;
+    }
+
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
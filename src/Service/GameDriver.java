@@ -4,16 +4,40 @@ import Model.*;
 import Exceptions.SolutionInvalidException;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Set;
 
 public class GameDriver {
-    private RandomPairs randomPairs;
+    public static final String SNAPSHOT_FILE = "snapshot.csv";
+    public static final int GAMES_PER_DIFFICULTY = 50;
+    private static final int[][] EMPTY_CELLS = {
+            null,
+            null,
+            {7, 9, 10},
+            {40, 55, 57},
+            {115, 145, 150},
+            {250, 305, 325}
+    };
+
+    private SplittableRandom random;
     private String basePath = "games";
 
     public GameDriver() {
-        this.randomPairs = new RandomPairs();
+        this(new SplittableRandom());
+    }
+    public GameDriver(long seed) {
+        this(new SplittableRandom(seed));
+    }
+    private GameDriver(SplittableRandom master) {
+        this.random = master;
         createDirectoryStructure();
     }
     private void createDirectoryStructure() {
@@ -33,77 +57,94 @@ public class GameDriver {
         generateGamesFromValidBoard(sourceBoard);
     }
 
-    public void generateGamesFromValidBoard(int[][] sourceBoard) {
-        clearFolder("easy");
-        clearFolder("medium");
-        clearFolder("hard");
-        generateAndSaveGame(sourceBoard, Difficulty.EASY, 10);
-        generateAndSaveGame(sourceBoard, Difficulty.MEDIUM, 20);
-        generateAndSaveGame(sourceBoard, Difficulty.HARD, 25);
-    }
-    private void clearFolder(String folderName) {
-        File folder = new File(basePath + "/" + folderName);
-        if(folder.exists() && folder.isDirectory()) {
-            File[] files = folder.listFiles();
-            if(files != null) {
-                for(File file : files) {
-                    file.delete();
-                }
+    public void generateGames(int size) throws IOException {
+        new PuzzleBank(Paths.get(basePath), size, null, random.split()).run(GAMES_PER_DIFFICULTY);
+    }
+
+    public void generateGamesFromValidBoard(int[][] sourceBoard) throws IOException {
+        generateVariantsFromValidBoard(sourceBoard, GAMES_PER_DIFFICULTY);
+    }
+    public void generateVariantsFromValidBoard(int[][] sourceBoard, int perDifficulty) throws IOException {
+        new PuzzleBank(Paths.get(basePath), sourceBoard.length, sourceBoard, random.split()).run(perDifficulty);
+    }
+    static void removeStale(Path folder, Set<Path> keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*.csv")) {
+            for(Path file : files) {
+                if(!keep.contains(file)) Files.deleteIfExists(file);
             }
         }
     }
-    private void generateAndSaveGame(int[][] sourceBoard, Difficulty difficulty, int cellsToRemove) {
-        int[][] gameBoard = new int[9][9];
-        for(int i = 0; i < 9; i++) {
-            System.arraycopy(sourceBoard[i], 0, gameBoard[i], 0, 9);
-        }
-        List<int[]> positionsToRemove = randomPairs.generateDistinctPairs(cellsToRemove);
-        for(int[] pos : positionsToRemove) {
-            gameBoard[pos[0]][pos[1]] = 0;
-        }
-        saveGame(gameBoard, difficulty);
+    public static int emptyCellsFor(Difficulty difficulty, int size) {
+        return EMPTY_CELLS[BoardGeometry.of(size).getBoxSize()][difficulty.ordinal()];
+    }
+    public static boolean isGraded(int size) {
+        // 4x4 grids never need more than singles, so only their hole counts differ
+        return BoardGeometry.of(size).getBoxSize() > BoardGeometry.MIN_BOX_SIZE;
     }
 
     private int[][] loadBoardFromCSV(String filePath) throws IOException {
-        int[][] board = new int[9][9];
         List<String> lines = Files.readAllLines(Paths.get(filePath));
-        for(int row = 0; row < 9 && row < lines.size(); row++) {
+        lines.removeIf(line -> line.trim().isEmpty());
+        if(lines.isEmpty()) throw new IOException("Board file is empty: " + filePath);
+        int size = lines.get(0).split(",").length;
+        if(!BoardGeometry.isSupported(size)) throw new IOException("Unsupported board size: " + size);
+        int[][] board = new int[size][size];
+        for(int row = 0; row < size && row < lines.size(); row++) {
             String[] values = lines.get(row).split(",");
-            for(int col = 0; col < 9 && col < values.length; col++) {
+            for(int col = 0; col < size && col < values.length; col++) {
                 String val = values[col].trim();
                 board[row][col] = val.isEmpty() ? 0 : Integer.parseInt(val);
             }
         }
         return board;
     }
-    private void saveGame(int[][] board, Difficulty difficulty) {
-        String folderName = difficulty.toString().toLowerCase();
-        String fileName = "game_" + difficulty.toString().toLowerCase() + ".csv";
-        String filePath = basePath + "/" + folderName + "/" + fileName;
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for(int i = 0; i < 9; i++) {
-                for(int j = 0; j < 9; j++) {
-                    writer.write(String.valueOf(board[i][j]));
-                    if(j < 8) writer.write(",");
+    static void writeBoardAtomically(Path target, int[][] board) throws IOException {
+        writeBoardAtomically(target, board, false);
+    }
+    static void writeBoardAtomically(Path target, int[][] board, boolean durable) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for(int i = 0; i < board.length; i++) {
+                    for(int j = 0; j < board.length; j++) {
+                        writer.write(String.valueOf(board[i][j]));
+                        if(j < board.length - 1) writer.write(",");
+                    }
+                    writer.newLine();
                 }
-                writer.newLine();
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-    public void saveInitialBoard(int[][] board) {
-        String filePath = basePath + "/current/game.csv";
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for(int i = 0; i < 9; i++) {
-                for(int j = 0; j < 9; j++) {
-                    writer.write(String.valueOf(board[i][j]));
-                    if(j < 8) writer.write(",");
+            if(durable) {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
                 }
-                writer.newLine();
             }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if(durable) syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            e.printStackTrace();
+            // not every platform can open a directory; the rename is still atomic there
+        }
+    }
+    public void saveInitialBoard(int[][] board, boolean durable) throws IOException {
+        Path currentFolder = Paths.get(basePath, "current");
+        Files.createDirectories(currentFolder);
+        writeBoardAtomically(currentFolder.resolve("game.csv"), board, durable);
+    }
+    public void saveSnapshot(int[][] board, boolean durable) throws IOException {
+        writeBoardAtomically(Paths.get(basePath, "current", SNAPSHOT_FILE), board, durable);
+    }
+    public void clearSnapshot(boolean durable) throws IOException {
+        Path snapshot = Paths.get(basePath, "current", SNAPSHOT_FILE);
+        if(!Files.exists(snapshot)) return;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+            if(durable) channel.force(true);
         }
     }
     public void deleteCurrentGame() {
@@ -117,8 +158,8 @@ public class GameDriver {
             }
         }
     }
-    public void copyGameToCurrent(int[][] board) {
-        saveInitialBoard(board);
+    public void copyGameToCurrent(int[][] board, boolean durable) throws IOException {
+        saveInitialBoard(board, durable);
         File logFile = new File(basePath + "/current/log.txt");
         if(logFile.exists()) {
             logFile.delete();
@@ -0,0 +1,178 @@
+package Service;
+
+import Model.Difficulty;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class GamePrefetcher implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8;
+    public static final int DEFAULT_LOW_WATER_MARK = 2;
+    private static final long IDLE_WAIT_MILLIS = 1000;
+
+    private final Path basePath;
+    private final int lowWaterMark;
+    private final SplittableRandom random;
+    private final Map<Difficulty, BlockingQueue<int[][]>> queues = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, ArrayDeque<Path>> decks = new EnumMap<>(Difficulty.class);
+    private final long[] deckGenerations = new long[Difficulty.values().length];
+    private final Object signal = new Object();
+    private final Object bankLock = new Object();
+    private final Thread producer;
+    private boolean refillRequested = true;
+    private long generation;
+    private volatile boolean running = true;
+
+    public GamePrefetcher(Path basePath) {
+        this(basePath, DEFAULT_CAPACITY, DEFAULT_LOW_WATER_MARK, new SplittableRandom());
+    }
+
+    public GamePrefetcher(Path basePath, int capacity, int lowWaterMark, SplittableRandom random) {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("Low-water mark must be between 0 and capacity " + capacity);
+        }
+        this.basePath = basePath;
+        this.lowWaterMark = lowWaterMark;
+        this.random = random;
+        for (Difficulty difficulty : Difficulty.values()) {
+            queues.put(difficulty, new ArrayBlockingQueue<>(capacity));
+            decks.put(difficulty, new ArrayDeque<>());
+        }
+        this.producer = new Thread(this::run, "game-prefetcher");
+        producer.setDaemon(true);
+        producer.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    public void start() {
+        producer.start();
+    }
+
+    public int[][] poll(Difficulty difficulty) {
+        BlockingQueue<int[][]> queue = queues.get(difficulty);
+        int[][] board = queue.poll();
+        if (queue.size() < lowWaterMark) requestRefill();
+        return board;
+    }
+
+    public int available(Difficulty difficulty) {
+        return queues.get(difficulty).size();
+    }
+
+    public void invalidate() {
+        synchronized (bankLock) {
+            generation++;
+            for (BlockingQueue<int[][]> queue : queues.values()) queue.clear();
+        }
+        requestRefill();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        producer.interrupt();
+    }
+
+    private void requestRefill() {
+        synchronized (signal) {
+            refillRequested = true;
+            signal.notifyAll();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            synchronized (signal) {
+                while (running && !refillRequested) {
+                    try {
+                        signal.wait(IDLE_WAIT_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (!refillRequested && hasShortQueue()) refillRequested = true;
+                }
+                refillRequested = false;
+            }
+            for (Difficulty difficulty : Difficulty.values()) {
+                if (!running) return;
+                fill(difficulty);
+            }
+        }
+    }
+
+    private long currentGeneration() {
+        synchronized (bankLock) {
+            return generation;
+        }
+    }
+
+    private boolean hasShortQueue() {
+        for (BlockingQueue<int[][]> queue : queues.values()) {
+            if (queue.size() < lowWaterMark) return true;
+        }
+        return false;
+    }
+
+    private void fill(Difficulty difficulty) {
+        BlockingQueue<int[][]> queue = queues.get(difficulty);
+        if (queue.remainingCapacity() == 0) return;
+        long expected = currentGeneration();
+        ArrayDeque<Path> deck = decks.get(difficulty);
+        if (deckGenerations[difficulty.ordinal()] != expected) {
+            deck.clear();
+            deckGenerations[difficulty.ordinal()] = expected;
+        }
+        boolean dealt = false;
+        while (queue.remainingCapacity() > 0 && running) {
+            if (deck.isEmpty()) {
+                if (dealt) return;
+                deal(deck, list(basePath.resolve(difficulty.toString().toLowerCase())));
+                dealt = true;
+            }
+            int[][] board = read(deck.poll());
+            if (board == null) continue;
+            synchronized (bankLock) {
+                if (generation != expected) return;
+                queue.offer(board);
+            }
+        }
+    }
+
+    private void deal(ArrayDeque<Path> deck, List<Path> files) {
+        for (int i = files.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Path swap = files.get(i);
+            files.set(i, files.get(j));
+            files.set(j, swap);
+        }
+        deck.addAll(files);
+    }
+
+    private static List<Path> list(Path folder) {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(folder)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.csv")) {
+            for (Path file : stream) files.add(file);
+        } catch (IOException e) {
+            files.clear();
+        }
+        return files;
+    }
+
+    private static int[][] read(Path file) {
+        try (PuzzleReader reader = new PuzzleReader(Files.newBufferedReader(file))) {
+            return reader.next();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.Difficulty;
+import Model.Hint;
+import Model.PackedBoard;
+import Model.Technique;
+
+public class LogicalSolver {
+    private static final int CONTRADICTION = -2;
+    private static final int NONE = -1;
+
+    private static final ThreadLocal<LogicalSolver[]> LOCAL =
+            ThreadLocal.withInitial(() -> new LogicalSolver[BoardGeometry.MAX_BOX_SIZE + 1]);
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cellCount;
+    private final int unitCount;
+    private final int all;
+    private final int[] cells;
+    private final int[] candidates;
+    private final int[] placed;
+    private final int[] scratch;
+    private final int[] positions;
+    private final int[] lineMasks;
+    private int emptyCount;
+    private int hintCell;
+    private int hintValue;
+
+    private LogicalSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.unitCount = geometry.getUnitCount();
+        this.all = geometry.getAllMask();
+        this.cells = new int[cellCount];
+        this.candidates = new int[cellCount];
+        this.placed = new int[unitCount];
+        this.scratch = new int[size];
+        this.positions = new int[size];
+        this.lineMasks = new int[size];
+    }
+
+    private static LogicalSolver local(BoardGeometry geometry) {
+        LogicalSolver[] solvers = LOCAL.get();
+        LogicalSolver solver = solvers[geometry.getBoxSize()];
+        if (solver == null) {
+            solver = new LogicalSolver(geometry);
+            solvers[geometry.getBoxSize()] = solver;
+        }
+        return solver;
+    }
+
+    public static Hint nextMove(int[][] board) {
+        return nextMove(PackedBoard.fromArray(board));
+    }
+
+    public static Hint nextMove(PackedBoard board) {
+        LogicalSolver solver = local(board.getGeometry());
+        if (!solver.load(board) || solver.emptyCount == 0) return null;
+        Technique technique = solver.step();
+        if (technique == null) return null;
+        return new Hint(solver.hintCell / solver.size, solver.hintCell % solver.size, solver.hintValue, technique);
+    }
+
+    public static Technique grade(int[][] board) {
+        return grade(PackedBoard.fromArray(board));
+    }
+
+    public static Technique grade(PackedBoard board) {
+        LogicalSolver solver = local(board.getGeometry());
+        if (!solver.load(board)) return null;
+        Technique hardest = Technique.NAKED_SINGLE;
+        while (solver.emptyCount > 0) {
+            Technique technique = solver.step();
+            if (technique == null) return Technique.TRIAL_AND_ERROR;
+            if (technique.ordinal() > hardest.ordinal()) hardest = technique;
+            solver.place(solver.hintCell, solver.hintValue);
+        }
+        return hardest;
+    }
+
+    public static Difficulty rate(PackedBoard board) {
+        Technique technique = grade(board);
+        return technique == null ? null : technique.getDifficulty();
+    }
+
+    private boolean load(PackedBoard board) {
+        if (!board.isConsistent()) return false;
+        emptyCount = board.getEmptyCount();
+        for (int u = 0; u < unitCount; u++) placed[u] = board.getUnitMask(u);
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = board.get(i);
+            candidates[i] = cells[i] == 0 ? board.candidates(i) : 0;
+        }
+        return true;
+    }
+
+    private Technique step() {
+        Technique level = Technique.NAKED_SINGLE;
+        while (true) {
+            int found = findNakedSingle();
+            if (found == CONTRADICTION) return null;
+            if (found != NONE) return level;
+            found = findHiddenSingle();
+            if (found == CONTRADICTION) return null;
+            if (found != NONE) return max(level, Technique.HIDDEN_SINGLE);
+            Technique technique = eliminate();
+            if (technique == null) return null;
+            level = max(level, technique);
+        }
+    }
+
+    private Technique eliminate() {
+        if (nakedSubset(2)) return Technique.NAKED_PAIR;
+        if (hiddenSubset(2)) return Technique.HIDDEN_PAIR;
+        if (pointing()) return Technique.POINTING_PAIR;
+        if (boxLineReduction()) return Technique.BOX_LINE_REDUCTION;
+        if (nakedSubset(3)) return Technique.NAKED_TRIPLE;
+        if (hiddenSubset(3)) return Technique.HIDDEN_TRIPLE;
+        if (xWing()) return Technique.X_WING;
+        return null;
+    }
+
+    private int findNakedSingle() {
+        for (int i = 0; i < cellCount; i++) {
+            if (cells[i] != 0) continue;
+            int mask = candidates[i];
+            if (mask == 0) return CONTRADICTION;
+            if ((mask & (mask - 1)) == 0) {
+                hintCell = i;
+                hintValue = Integer.numberOfTrailingZeros(mask) + 1;
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private int findHiddenSingle() {
+        for (int u = 0; u < unitCount; u++) {
+            int[] unit = geometry.cellsOf(u);
+            int missing = all & ~placed[u];
+            while (missing != 0) {
+                int bit = missing & -missing;
+                missing ^= bit;
+                int count = 0;
+                int last = -1;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        count++;
+                        last = cell;
+                    }
+                }
+                if (count == 0) return CONTRADICTION;
+                if (count == 1) {
+                    hintCell = last;
+                    hintValue = Integer.numberOfTrailingZeros(bit) + 1;
+                    return last;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    private boolean nakedSubset(int k) {
+        for (int u = 0; u < unitCount; u++) {
+            int[] unit = geometry.cellsOf(u);
+            int n = 0;
+            for (int cell : unit) {
+                int count = Integer.bitCount(candidates[cell]);
+                if (cells[cell] == 0 && count >= 2 && count <= k) scratch[n++] = cell;
+            }
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int pair = candidates[scratch[a]] | candidates[scratch[b]];
+                    if (k == 2) {
+                        if (Integer.bitCount(pair) == 2 && removeFromUnit(unit, pair, scratch[a], scratch[b], -1)) return true;
+                        continue;
+                    }
+                    for (int c = b + 1; c < n; c++) {
+                        int triple = pair | candidates[scratch[c]];
+                        if (Integer.bitCount(triple) == 3
+                                && removeFromUnit(unit, triple, scratch[a], scratch[b], scratch[c])) return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hiddenSubset(int k) {
+        for (int u = 0; u < unitCount; u++) {
+            int[] unit = geometry.cellsOf(u);
+            int n = 0;
+            int missing = all & ~placed[u];
+            while (missing != 0) {
+                int bit = missing & -missing;
+                missing ^= bit;
+                int where = 0;
+                for (int p = 0; p < size; p++) {
+                    if ((candidates[unit[p]] & bit) != 0) where |= 1 << p;
+                }
+                int count = Integer.bitCount(where);
+                if (count >= 2 && count <= k) {
+                    scratch[n] = bit;
+                    positions[n++] = where;
+                }
+            }
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int where = positions[a] | positions[b];
+                    int digits = scratch[a] | scratch[b];
+                    if (k == 2) {
+                        if (Integer.bitCount(where) == 2 && restrictCells(unit, where, digits)) return true;
+                        continue;
+                    }
+                    for (int c = b + 1; c < n; c++) {
+                        if (Integer.bitCount(where | positions[c]) == 3
+                                && restrictCells(unit, where | positions[c], digits | scratch[c])) return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean pointing() {
+        for (int box = 0; box < size; box++) {
+            int[] unit = geometry.cellsOf(2 * size + box);
+            int missing = all & ~placed[2 * size + box];
+            while (missing != 0) {
+                int bit = missing & -missing;
+                missing ^= bit;
+                int rows = 0;
+                int cols = 0;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        rows |= 1 << (cell / size);
+                        cols |= 1 << (cell % size);
+                    }
+                }
+                boolean changed = false;
+                if (Integer.bitCount(rows) == 1) {
+                    changed = removeOutsideBox(geometry.cellsOf(Integer.numberOfTrailingZeros(rows)), box, bit);
+                }
+                if (!changed && Integer.bitCount(cols) == 1) {
+                    changed = removeOutsideBox(geometry.cellsOf(size + Integer.numberOfTrailingZeros(cols)), box, bit);
+                }
+                if (changed) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean boxLineReduction() {
+        for (int line = 0; line < 2 * size; line++) {
+            int[] unit = geometry.cellsOf(line);
+            int missing = all & ~placed[line];
+            while (missing != 0) {
+                int bit = missing & -missing;
+                missing ^= bit;
+                int boxes = 0;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) boxes |= 1 << geometry.boxOf(cell);
+                }
+                if (Integer.bitCount(boxes) != 1) continue;
+                boolean changed = false;
+                for (int cell : geometry.cellsOf(2 * size + Integer.numberOfTrailingZeros(boxes))) {
+                    int[] units = geometry.unitsOf(cell);
+                    if (units[0] != line && units[1] != line) changed |= remove(cell, bit);
+                }
+                if (changed) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean xWing() {
+        for (int digit = 0; digit < size; digit++) {
+            int bit = 1 << digit;
+            for (int orientation = 0; orientation < 2; orientation++) {
+                int base = orientation * size;
+                for (int line = 0; line < size; line++) {
+                    int mask = 0;
+                    if ((placed[base + line] & bit) == 0) {
+                        int[] unit = geometry.cellsOf(base + line);
+                        for (int p = 0; p < size; p++) {
+                            if ((candidates[unit[p]] & bit) != 0) mask |= 1 << p;
+                        }
+                    }
+                    lineMasks[line] = Integer.bitCount(mask) == 2 ? mask : 0;
+                }
+                for (int a = 0; a < size; a++) {
+                    if (lineMasks[a] == 0) continue;
+                    for (int b = a + 1; b < size; b++) {
+                        if (lineMasks[b] != lineMasks[a]) continue;
+                        boolean changed = false;
+                        int crossing = lineMasks[a];
+                        while (crossing != 0) {
+                            int p = Integer.numberOfTrailingZeros(crossing);
+                            crossing &= crossing - 1;
+                            int[] cross = geometry.cellsOf((1 - orientation) * size + p);
+                            for (int q = 0; q < size; q++) {
+                                if (q != a && q != b) changed |= remove(cross[q], bit);
+                            }
+                        }
+                        if (changed) return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFromUnit(int[] unit, int bits, int keepA, int keepB, int keepC) {
+        boolean changed = false;
+        for (int cell : unit) {
+            if (cell != keepA && cell != keepB && cell != keepC) changed |= remove(cell, bits);
+        }
+        return changed;
+    }
+
+    private boolean restrictCells(int[] unit, int where, int digits) {
+        boolean changed = false;
+        for (int p = 0; p < size; p++) {
+            if ((where & (1 << p)) != 0) changed |= remove(unit[p], all & ~digits);
+        }
+        return changed;
+    }
+
+    private boolean removeOutsideBox(int[] line, int box, int bit) {
+        boolean changed = false;
+        for (int cell : line) {
+            if (geometry.unitsOf(cell)[2] != 2 * size + box) changed |= remove(cell, bit);
+        }
+        return changed;
+    }
+
+    private boolean remove(int cell, int bits) {
+        if (cells[cell] != 0 || (candidates[cell] & bits) == 0) return false;
+        candidates[cell] &= ~bits;
+        return true;
+    }
+
+    private void place(int cell, int value) {
+        int bit = 1 << (value - 1);
+        cells[cell] = value;
+        candidates[cell] = 0;
+        emptyCount--;
+        for (int unit : geometry.unitsOf(cell)) placed[unit] |= bit;
+        for (int peer : geometry.peersOf(cell)) candidates[peer] &= ~bit;
+    }
+
+    private static Technique max(Technique a, Technique b) {
+        return a.ordinal() >= b.ordinal() ? a : b;
+    }
+}
@@ -0,0 +1,189 @@
+package Service;
+
+import Model.JournalDurability;
+import Model.MoveRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+public class MoveJournal implements Closeable {
+    public static final long DEFAULT_GROUP_COMMIT_MILLIS = 50;
+    static final int RECORD_SIZE = 16;
+    private static final int PAYLOAD_SIZE = 12;
+    private static final byte MOVE = 1;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "journal-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FileChannel channel;
+    private final JournalDurability durability;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ScheduledFuture<?> flusher;
+    private final long recoveredBytes;
+    private long recordCount;
+
+    private MoveJournal(Path path, JournalDurability durability, long groupCommitMillis) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.durability = durability;
+        long size = channel.size();
+        this.recordCount = scan(null);
+        long valid = recordCount * RECORD_SIZE;
+        if (valid < size) {
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        this.recoveredBytes = size - valid;
+        this.flusher = durability == JournalDurability.GROUP_COMMIT
+                ? FLUSHER.scheduleWithFixedDelay(this::flushIfDirty, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    public static MoveJournal open(Path path) throws IOException {
+        return open(path, JournalDurability.GROUP_COMMIT, DEFAULT_GROUP_COMMIT_MILLIS);
+    }
+
+    public static MoveJournal open(Path path, JournalDurability durability, long groupCommitMillis) throws IOException {
+        if (durability == JournalDurability.GROUP_COMMIT && groupCommitMillis <= 0) {
+            throw new IllegalArgumentException("Group commit interval must be positive");
+        }
+        return new MoveJournal(path, durability, groupCommitMillis);
+    }
+
+    public JournalDurability getDurability() {
+        return durability;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getRecoveredBytes() {
+        return recoveredBytes;
+    }
+
+    public synchronized long append(MoveRecord move) throws IOException {
+        long offset = recordCount * RECORD_SIZE;
+        encode(move, recordCount);
+        while (record.hasRemaining()) channel.write(record, offset + record.position());
+        recordCount++;
+        if (durability == JournalDurability.FSYNC_EACH) {
+            channel.force(false);
+        } else if (durability == JournalDurability.GROUP_COMMIT) {
+            dirty.set(true);
+        }
+        return offset;
+    }
+
+    public synchronized List<MoveRecord> readAll() throws IOException {
+        List<MoveRecord> moves = new ArrayList<>((int) recordCount);
+        scan(moves);
+        return moves;
+    }
+
+    public synchronized void truncate(long records) throws IOException {
+        if (records < 0 || records > recordCount) {
+            throw new IllegalArgumentException("Record count must be between 0 and " + recordCount + ": " + records);
+        }
+        if (records == recordCount) return;
+        channel.truncate(records * RECORD_SIZE);
+        recordCount = records;
+        sync();
+    }
+
+    public synchronized void reset() throws IOException {
+        if (recordCount == 0 && channel.size() == 0) return;
+        channel.truncate(0);
+        recordCount = 0;
+        sync();
+    }
+
+    public void force() throws IOException {
+        dirty.set(false);
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (flusher != null) flusher.cancel(false);
+        if (!channel.isOpen()) return;
+        if (durability != JournalDurability.OS_BUFFERED && dirty.get()) force();
+        channel.close();
+    }
+
+    private void sync() throws IOException {
+        if (durability == JournalDurability.FSYNC_EACH) {
+            channel.force(false);
+        } else if (durability == JournalDurability.GROUP_COMMIT) {
+            dirty.set(true);
+        }
+    }
+
+    private void flushIfDirty() {
+        if (!dirty.get() || !channel.isOpen()) return;
+        try {
+            force();
+        } catch (IOException e) {
+            dirty.set(true);
+        }
+    }
+
+    private long scan(List<MoveRecord> moves) throws IOException {
+        long size = channel.size();
+        ByteBuffer contents = ByteBuffer.allocate((int) (size - size % RECORD_SIZE));
+        while (contents.hasRemaining()) {
+            if (channel.read(contents, contents.position()) < 0) break;
+        }
+        contents.flip();
+        long index = 0;
+        while (contents.remaining() >= RECORD_SIZE) {
+            record.clear();
+            contents.get(record.array(), 0, RECORD_SIZE);
+            MoveRecord move = decode(index);
+            if (move == null) break;
+            if (moves != null) moves.add(move);
+            index++;
+        }
+        return index;
+    }
+
+    private void encode(MoveRecord move, long sequence) {
+        record.clear();
+        record.put(MOVE)
+                .put((byte) move.getRow())
+                .put((byte) move.getCol())
+                .put((byte) move.getValue())
+                .put((byte) move.getPreviousValue())
+                .put((byte) 0).put((byte) 0).put((byte) 0)
+                .putInt((int) sequence);
+        crc.reset();
+        crc.update(record.array(), 0, PAYLOAD_SIZE);
+        record.putInt((int) crc.getValue());
+        record.flip();
+    }
+
+    private MoveRecord decode(long sequence) {
+        byte[] bytes = record.array();
+        crc.reset();
+        crc.update(bytes, 0, PAYLOAD_SIZE);
+        if (record.getInt(PAYLOAD_SIZE) != (int) crc.getValue()) return null;
+        if (bytes[0] != MOVE || record.getInt(8) != (int) sequence) return null;
+        return new MoveRecord(bytes[1] & 0xFF, bytes[2] & 0xFF, bytes[3] & 0xFF, bytes[4] & 0xFF);
+    }
+}
@@ -0,0 +1,47 @@
+package Service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class OrderedWindow<T> {
+    public interface Sink<T> {
+        void accept(T result) throws IOException;
+    }
+
+    private final ExecutorService executor;
+    private final int capacity;
+    private final Sink<T> sink;
+    private final ArrayDeque<Future<T>> pending;
+
+    public OrderedWindow(ExecutorService executor, int capacity, Sink<T> sink) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.sink = sink;
+        this.pending = new ArrayDeque<>(capacity);
+    }
+
+    public void submit(Callable<T> task) throws IOException {
+        if (pending.size() >= capacity) emitHead();
+        pending.addLast(executor.submit(task));
+    }
+
+    public void drain() throws IOException {
+        while (!pending.isEmpty()) emitHead();
+    }
+
+    private void emitHead() throws IOException {
+        Future<T> head = pending.pollFirst();
+        try {
+            sink.accept(head.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for result", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Task failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.Game;
+import Model.PackedBoard;
+import Exceptions.InvalidGameException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ParallelSolver {
+    private static final int SPLIT_DEPTH = 3;
+
+    @SuppressWarnings("serial")
+    private static class PrefixTask extends RecursiveTask<int[]> {
+        private final BoardGeometry geometry;
+        private final int[] values;
+        private final int depth;
+        private final AtomicBoolean found;
+        private final SolveMonitor monitor;
+
+        public PrefixTask(BoardGeometry geometry, int[] values, int depth, AtomicBoolean found, SolveMonitor monitor) {
+            this.geometry = geometry;
+            this.values = values;
+            this.depth = depth;
+            this.found = found;
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (found.get() || (monitor != null && monitor.shouldStop())) return null;
+            BitmaskSolver solver = BitmaskSolver.local(geometry);
+            if (!solver.load(values)) return null;
+            if (depth >= SPLIT_DEPTH) {
+                solver.setStopFlag(found);
+                solver.setMonitor(monitor);
+                try {
+                    if (solver.search(1) > 0 && found.compareAndSet(false, true)) {
+                        return solver.solutionValues();
+                    }
+                    return null;
+                } finally {
+                    solver.setStopFlag(null);
+                    solver.setMonitor(null);
+                }
+            }
+            if (monitor != null) monitor.addNodes(1);
+            int cell = solver.branchCell();
+            if (cell == -1) return null;
+            if (cell == -2) return found.compareAndSet(false, true) ? solver.solutionValues() : null;
+            int[] propagated = solver.cellValues();
+            int candidates = solver.candidatesOf(cell);
+            List<PrefixTask> children = new ArrayList<>(Integer.bitCount(candidates));
+            while (candidates != 0) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int[] next = propagated.clone();
+                next[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+                children.add(new PrefixTask(geometry, next, depth + 1, found, monitor));
+            }
+            for (int i = children.size() - 1; i > 0; i--) children.get(i).fork();
+            int[] result = children.get(0).compute();
+            for (int i = 1; i < children.size(); i++) {
+                PrefixTask child = children.get(i);
+                if (result != null) {
+                    child.cancel(false);
+                } else {
+                    result = child.join();
+                }
+            }
+            return result;
+        }
+    }
+
+    public static int[] solve(Game game) throws InvalidGameException {
+        return solve(game, null);
+    }
+
+    public static int[] solve(Game game, SolveMonitor monitor) throws InvalidGameException {
+        PackedBoard board = game.getPackedBoard();
+        int[] values = new int[board.getGeometry().getCellCount()];
+        for (int i = 0; i < values.length; i++) values[i] = board.get(i);
+        if (!board.isConsistent()) throw new InvalidGameException("Board contains conflicting values");
+        int[] solution = SharedPool.get().invoke(new PrefixTask(board.getGeometry(), values, 0, new AtomicBoolean(false), monitor));
+        if (solution == null) {
+            if (monitor != null) monitor.checkStopped();
+            throw new InvalidGameException("No solution found for the board");
+        }
+        return BitmaskSolver.encode(board, solution);
+    }
+}
@@ -0,0 +1,136 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.BoardTransform;
+import Model.Difficulty;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.SplittableRandom;
+
+public class PuzzleBank {
+    private static final class Outcome {
+        private final Difficulty difficulty;
+        private final Path path;
+        private final long micros;
+
+        private Outcome(Difficulty difficulty, Path path, long micros) {
+            this.difficulty = difficulty;
+            this.path = path;
+            this.micros = micros;
+        }
+    }
+
+    private final Path basePath;
+    private final int size;
+    private final int[][] solution;
+    private final SplittableRandom master;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Difficulty.values().length];
+    private final long[] startNanos = new long[Difficulty.values().length];
+    private final long[] endNanos = new long[Difficulty.values().length];
+    private final Set<Path> written = new HashSet<>();
+
+    public PuzzleBank(Path basePath, int size) {
+        this(basePath, size, null, new SplittableRandom());
+    }
+
+    public PuzzleBank(Path basePath, int size, long seed) {
+        this(basePath, size, null, new SplittableRandom(seed));
+    }
+
+    PuzzleBank(Path basePath, int size, int[][] solution, SplittableRandom master) {
+        if (!BoardGeometry.isSupported(size)) throw new IllegalArgumentException("Unsupported board size: " + size);
+        if (solution != null && solution.length != size) {
+            throw new IllegalArgumentException("Solution must be " + size + "x" + size);
+        }
+        this.basePath = basePath;
+        this.size = size;
+        this.solution = solution;
+        this.master = master;
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PuzzleBank <puzzles-per-difficulty> [size] [directory] [seed]");
+            System.exit(1);
+        }
+        int count = Integer.parseInt(args[0]);
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : BoardGeometry.STANDARD.getSize();
+        Path directory = Paths.get(args.length > 2 ? args[2] : "games");
+        PuzzleBank bank = args.length > 3
+                ? new PuzzleBank(directory, size, Long.parseLong(args[3]))
+                : new PuzzleBank(directory, size);
+        long start = System.nanoTime();
+        bank.run(count);
+        bank.printSummary(System.out, System.nanoTime() - start);
+    }
+
+    public void run(int perDifficulty) throws IOException {
+        if (perDifficulty < 1) throw new IllegalArgumentException("perDifficulty must be at least 1");
+        ForkJoinPool pool = SharedPool.get();
+        CompletionWindow<Outcome> window = new CompletionWindow<>(pool, pool.getParallelism() * 4, this::record);
+        for (Difficulty difficulty : Difficulty.values()) {
+            Path folder = folderOf(difficulty);
+            Files.createDirectories(folder);
+            startNanos[difficulty.ordinal()] = System.nanoTime();
+            int[][] base = solution == null ? null : new PuzzleGenerator(new RandomPairs(master.split()))
+                    .generate(solution, difficulty);
+            for (int i = 0; i < perDifficulty; i++) {
+                Path target = folder.resolve(String.format("game_%s_%05d.csv", folder.getFileName(), i));
+                SplittableRandom stream = master.split();
+                boolean original = i == 0;
+                window.submit(() -> base == null
+                        ? generate(difficulty, target, stream)
+                        : vary(difficulty, target, base, original, stream));
+            }
+        }
+        window.drain();
+        for (Difficulty difficulty : Difficulty.values()) GameDriver.removeStale(folderOf(difficulty), written);
+    }
+
+    public void printSummary(PrintStream out, long elapsedNanos) {
+        long total = 0;
+        for (Difficulty difficulty : Difficulty.values()) {
+            LatencyHistogram histogram = histograms[difficulty.ordinal()];
+            double seconds = (endNanos[difficulty.ordinal()] - startNanos[difficulty.ordinal()]) / 1e9;
+            total += histogram.getCount();
+            out.printf("%-6s %d puzzles, %.1f puzzles/sec, p50 %d us, p99 %d us, max %d us%n",
+                    difficulty, histogram.getCount(), seconds > 0 ? histogram.getCount() / seconds : 0.0,
+                    histogram.percentile(50), histogram.percentile(99), histogram.getMax());
+        }
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Total: %d puzzles in %.3f s, %.1f puzzles/sec%n", total, seconds, seconds > 0 ? total / seconds : 0.0);
+    }
+
+    private Outcome generate(Difficulty difficulty, Path target, SplittableRandom stream) throws IOException {
+        long start = System.nanoTime();
+        int[][] solution = new SolutionGenerator(stream.split()).generate(size);
+        int[][] puzzle = new PuzzleGenerator(new RandomPairs(stream.split())).generate(solution, difficulty);
+        GameDriver.writeBoardAtomically(target, puzzle);
+        return new Outcome(difficulty, target, (System.nanoTime() - start) / 1000);
+    }
+
+    private Outcome vary(Difficulty difficulty, Path target, int[][] base, boolean original, SplittableRandom stream) throws IOException {
+        long start = System.nanoTime();
+        BoardTransform transform = original ? BoardTransform.identity(size) : BoardTransform.random(size, stream);
+        GameDriver.writeBoardAtomically(target, transform.apply(base));
+        return new Outcome(difficulty, target, (System.nanoTime() - start) / 1000);
+    }
+
+    private void record(Outcome outcome) {
+        histograms[outcome.difficulty.ordinal()].record(outcome.micros);
+        endNanos[outcome.difficulty.ordinal()] = System.nanoTime();
+        written.add(outcome.path);
+    }
+
+    private Path folderOf(Difficulty difficulty) {
+        return basePath.resolve(difficulty.toString().toLowerCase());
+    }
+}
@@ -0,0 +1,95 @@
+package Service;
+
+import Model.BoardGeometry;
+import Model.Difficulty;
+import Model.GameState;
+import Model.PackedBoard;
+
+import java.util.List;
+
+public class PuzzleGenerator {
+    private static final long NODE_BUDGET = 256;
+    private static final int BUDGET_GROWTH = 16;
+    private static final int MAX_PASSES = 4;
+    private static final int MAX_ATTEMPTS = 16;
+    private static final long NODES_PER_CELL = 256;
+    private static final int MAX_GRADE_ATTEMPTS = 128;
+
+    private final RandomPairs randomPairs;
+    private long spent;
+    private long maxNodes;
+
+    public PuzzleGenerator() {
+        this(new RandomPairs());
+    }
+
+    public PuzzleGenerator(RandomPairs randomPairs) {
+        this.randomPairs = randomPairs;
+    }
+
+    public int[][] generate(int[][] solution, Difficulty difficulty) {
+        int emptyCells = GameDriver.emptyCellsFor(difficulty, solution.length);
+        if (!GameDriver.isGraded(solution.length)) return generate(solution, emptyCells);
+        for (int attempt = 0; attempt < MAX_GRADE_ATTEMPTS; attempt++) {
+            int[][] puzzle = generate(solution, emptyCells);
+            if (LogicalSolver.rate(PackedBoard.fromArray(puzzle)) == difficulty) return puzzle;
+        }
+        throw new IllegalStateException("No " + difficulty + " puzzle with " + emptyCells + " empty cells after "
+                + MAX_GRADE_ATTEMPTS + " attempts");
+    }
+
+    public int[][] generate(int[][] solution, int emptyCells) {
+        BoardGeometry geometry = BoardGeometry.of(solution.length);
+        if (emptyCells < 0 || emptyCells > geometry.getCellCount()) {
+            throw new IllegalArgumentException("emptyCells must be between 0 and " + geometry.getCellCount());
+        }
+        if (SequentialVerifier.verify(solution).getState() != GameState.VALID) {
+            throw new IllegalArgumentException("Solution must be a complete, valid board");
+        }
+        int[] values = new int[geometry.getCellCount()];
+        spent = 0;
+        maxNodes = geometry.getCellCount() * NODES_PER_CELL;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && spent < maxNodes; attempt++) {
+            for (int cell = 0; cell < values.length; cell++) {
+                values[cell] = solution[geometry.rowOf(cell)][geometry.colOf(cell)];
+            }
+            if (dig(geometry, values, emptyCells) == emptyCells) return toBoard(geometry, values);
+        }
+        throw new IllegalStateException("Could not remove " + emptyCells + " cells while keeping a unique solution"
+                + " within " + maxNodes + " search nodes");
+    }
+
+    private int dig(BoardGeometry geometry, int[] values, int emptyCells) {
+        int size = geometry.getSize();
+        List<int[]> order = randomPairs.generateDistinctPairs(values.length, size);
+        int removed = 0;
+        long budget = NODE_BUDGET;
+        for (int pass = 0; pass < MAX_PASSES && removed < emptyCells; pass++, budget *= BUDGET_GROWTH) {
+            for (int k = 0; k < order.size() && removed < emptyCells; k++) {
+                int cell = order.get(k)[0] * size + order.get(k)[1];
+                int value = values[cell];
+                if (value == 0) continue;
+                if (spent >= maxNodes) return removed;
+                values[cell] = 0;
+                boolean ambiguous = BitmaskSolver.hasOtherSolution(geometry, values, cell, value,
+                        Math.min(budget, maxNodes - spent));
+                spent += BitmaskSolver.local(geometry).getNodeCount();
+                if (ambiguous) {
+                    values[cell] = value;
+                } else {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private static int[][] toBoard(BoardGeometry geometry, int[] values) {
+        int size = geometry.getSize();
+        int[][] puzzle = new int[size][size];
+        for (int cell = 0; cell < values.length; cell++) {
+            puzzle[geometry.rowOf(cell)][geometry.colOf(cell)] = values[cell];
+        }
+        return puzzle;
+    }
+}
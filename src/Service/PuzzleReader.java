@@ -0,0 +1,98 @@
+package Service;
+
+import Model.BoardGeometry;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+public class PuzzleReader implements Closeable {
+    private final BufferedReader reader;
+    private int lineNumber;
+    private boolean singleLine;
+
+    public PuzzleReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public int[][] next() throws IOException {
+        String line = nextContentLine();
+        if (line == null) return null;
+        singleLine = line.indexOf(',') < 0 && line.length() >= 16;
+        if (singleLine) {
+            return parseSingleLine(line);
+        }
+        int size = line.split(",").length;
+        if (!BoardGeometry.isSupported(size)) {
+            throw new IOException("Unsupported board size " + size + " at line " + lineNumber);
+        }
+        int[][] board = new int[size][size];
+        parseCsvRow(line, board[0]);
+        for (int row = 1; row < size; row++) {
+            line = nextContentLine();
+            if (line == null) throw new IOException("Unexpected end of input in puzzle ending at line " + lineNumber);
+            parseCsvRow(line, board[row]);
+        }
+        return board;
+    }
+
+    public boolean isSingleLine() {
+        return singleLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextContentLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) return line;
+        }
+        return null;
+    }
+
+    private int[][] parseSingleLine(String line) throws IOException {
+        int size = (int) Math.round(Math.sqrt(line.length()));
+        if (size * size != line.length() || !BoardGeometry.isSupported(size)) {
+            throw new IOException("Unsupported puzzle length " + line.length() + " at line " + lineNumber);
+        }
+        int[][] board = new int[size][size];
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '0' || ch == '.') continue;
+            int value = symbolValue(ch);
+            if (value < 1 || value > size) {
+                throw new IOException("Invalid character '" + ch + "' at line " + lineNumber);
+            }
+            board[i / size][i % size] = value;
+        }
+        return board;
+    }
+
+    static int symbolValue(char ch) {
+        if (ch >= '1' && ch <= '9') return ch - '0';
+        if (ch >= 'A' && ch <= 'Z') return ch - 'A' + 10;
+        if (ch >= 'a' && ch <= 'z') return ch - 'a' + 10;
+        return -1;
+    }
+
+    static char symbolOf(int value) {
+        return value < 10 ? (char) ('0' + value) : (char) ('A' + value - 10);
+    }
+
+    private void parseCsvRow(String line, int[] row) throws IOException {
+        String[] values = line.split(",");
+        try {
+            for (int col = 0; col < row.length && col < values.length; col++) {
+                String val = values[col].trim();
+                row[col] = val.isEmpty() ? 0 : Integer.parseInt(val);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number format at line " + lineNumber, e);
+        }
+    }
+}
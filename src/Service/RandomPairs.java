@@ -1,37 +1,44 @@
 package Service;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.Set;
+import java.util.SplittableRandom;
 
 public class RandomPairs {
-    private static final int MAX_COORD = 8;
-    private static final int MAX_UNIQUE_PAIRS = (MAX_COORD + 1) * (MAX_COORD + 1);
-    private final Random random;
+    private static final int DEFAULT_SIZE = 9;
+    private final SplittableRandom random;
 
     public RandomPairs() {
-        this.random = new Random(System.currentTimeMillis());
+        this(new SplittableRandom());
     }
     public RandomPairs(long seed) {
-        this.random = new Random(seed);
+        this(new SplittableRandom(seed));
+    }
+    public RandomPairs(SplittableRandom random) {
+        this.random = random;
+    }
+    public RandomPairs split() {
+        return new RandomPairs(random.split());
     }
     public List<int[]> generateDistinctPairs(int n) {
-        if (n < 0 || n > MAX_UNIQUE_PAIRS) {
+        return generateDistinctPairs(n, DEFAULT_SIZE);
+    }
+    public List<int[]> generateDistinctPairs(int n, int size) {
+        int maxUniquePairs = size * size;
+        if (n < 0 || n > maxUniquePairs) {
             throw new IllegalArgumentException(
-                    "n must be between 0 and " + MAX_UNIQUE_PAIRS + " (inclusive)");
+                    "n must be between 0 and " + maxUniquePairs + " (inclusive)");
         }
-        Set<Integer> used = new HashSet<>();
+        int[] keys = new int[maxUniquePairs];
+        for (int i = 0; i < maxUniquePairs; i++) keys[i] = i;
         List<int[]> result = new ArrayList<>(n);
-        while (result.size() < n) {
-            int x = random.nextInt(MAX_COORD + 1);
-            int y = random.nextInt(MAX_COORD + 1);
-            int key = x * (MAX_COORD + 1) + y;
-            if (used.add(key)) {
-                result.add(new int[] { x, y });
-            }
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(maxUniquePairs - i);
+            int key = keys[j];
+            keys[j] = keys[i];
+            keys[i] = key;
+            result.add(new int[] { key / size, key % size });
         }
         return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package Service;
+
+import Model.BoardGeometry;
+
+import java.util.Arrays;
+
+final class ScalarBatchKernel implements BatchKernel {
+    private static final int LANES = 16;
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void verify(BoardGeometry geometry, short[] block, boolean[] duplicates, boolean[] empty) {
+        int size = geometry.getSize();
+        int[] seen = new int[LANES];
+        int[] repeated = new int[LANES];
+        int[] missing = new int[LANES];
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            Arrays.fill(seen, 0);
+            for (int cell : geometry.cellsOf(unit)) {
+                int base = cell * LANES;
+                for (int lane = 0; lane < LANES; lane++) {
+                    int bits = block[base + lane] & 0xFFFF;
+                    repeated[lane] |= seen[lane] & bits;
+                    seen[lane] |= bits;
+                    if (unit < size && bits == 0) missing[lane] = 1;
+                }
+            }
+        }
+        for (int lane = 0; lane < LANES; lane++) {
+            duplicates[lane] = repeated[lane] != 0;
+            empty[lane] = missing[lane] != 0;
+        }
+    }
+}
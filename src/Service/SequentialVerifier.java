@@ -3,80 +3,76 @@ package Service;
 import Model.*;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 public class SequentialVerifier {
     public static VerificationResult verify(int[][] board) {
-        List<LocationOnBoard> duplicates = new ArrayList<>();
+        BoardGeometry geometry = BoardGeometry.of(board.length);
+        int size = geometry.getSize();
         boolean hasEmptyCells = false;
-        for(int row = 0; row < 9; row++) {
-            HashMap<Integer, List<Integer>> rowMap = new HashMap<>();
-            for(int col = 0; col < 9; col++) {
-                int value = board[row][col];
+        boolean hasDuplicates = false;
+        List<LocationOnBoard> outOfRange = new ArrayList<>();
+        for(int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int seen = 0;
+            for(int cell : geometry.cellsOf(unit)) {
+                int value = board[geometry.rowOf(cell)][geometry.colOf(cell)];
                 if(value == 0) {
                     hasEmptyCells = true;
                     continue;
                 }
-                if(!rowMap.containsKey(value)) {
-                    rowMap.put(value, new ArrayList<>());
+                if(value < 0 || value > size) {
+                    if(unit < size) outOfRange.add(new LocationOnBoard(geometry.rowOf(cell), geometry.colOf(cell)));
+                    continue;
                 }
-                rowMap.get(value).add(col);
+                int bit = 1 << (value - 1);
+                if((seen & bit) != 0) hasDuplicates = true;
+                seen |= bit;
             }
-            for(var entry : rowMap.entrySet()) {
-                if(entry.getValue().size() > 1) {
-                    for(int col : entry.getValue()) {
-                        duplicates.add(new LocationOnBoard(row, col));
-                    }
+        }
+        if(!outOfRange.isEmpty()) {
+            PackedBoard inRange = new PackedBoard(geometry);
+            for(int row = 0; row < size; row++) {
+                for(int col = 0; col < size; col++) {
+                    int value = board[row][col];
+                    if(value > 0 && value <= size) inRange.set(row, col, value);
                 }
             }
+            return invalid(inRange, outOfRange);
+        }
+        if(hasDuplicates) {
+            return invalid(PackedBoard.fromArray(board), new ArrayList<>());
         }
-        for(int col = 0; col < 9; col++) {
-            HashMap<Integer, List<Integer>> colMap = new HashMap<>();
-            for(int row = 0; row < 9; row++) {
-                int value = board[row][col];
+        return new VerificationResult(hasEmptyCells ? GameState.INCOMPLETE : GameState.VALID, new ArrayList<>());
+    }
+    public static VerificationResult verify(PackedBoard board) {
+        if(board.isConsistent()) {
+            return new VerificationResult(board.getEmptyCount() > 0 ? GameState.INCOMPLETE : GameState.VALID, new ArrayList<>());
+        }
+        return invalid(board, new ArrayList<>());
+    }
+    private static VerificationResult invalid(PackedBoard board, List<LocationOnBoard> duplicates) {
+        BoardGeometry geometry = board.getGeometry();
+        for(int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int[] cells = geometry.cellsOf(unit);
+            int seen = 0;
+            int repeated = 0;
+            for(int cell : cells) {
+                int value = board.get(cell);
                 if(value == 0) continue;
-                if(!colMap.containsKey(value)) {
-                    colMap.put(value, new ArrayList<>());
-                }
-                colMap.get(value).add(row);
+                int bit = 1 << (value - 1);
+                repeated |= seen & bit;
+                seen |= bit;
             }
-            for(var entry : colMap.entrySet()) {
-                if(entry.getValue().size() > 1) {
-                    for(int row : entry.getValue()) {
-                        duplicates.add(new LocationOnBoard(row, col));
+            while(repeated != 0) {
+                int value = Integer.numberOfTrailingZeros(repeated) + 1;
+                repeated &= repeated - 1;
+                for(int cell : cells) {
+                    if(board.get(cell) == value) {
+                        duplicates.add(new LocationOnBoard(geometry.rowOf(cell), geometry.colOf(cell)));
                     }
                 }
             }
         }
-        for(int boxRow = 0; boxRow < 3; boxRow++) {
-            for(int boxCol = 0; boxCol < 3; boxCol++) {
-                HashMap<Integer, List<LocationOnBoard>> boxMap = new HashMap<>();
-                for(int i = 0; i < 3; i++) {
-                    for(int j = 0; j < 3; j++) {
-                        int row = boxRow * 3 + i;
-                        int col = boxCol * 3 + j;
-                        int value = board[row][col];
-                        if(value == 0) continue;
-                        if(!boxMap.containsKey(value)) {
-                            boxMap.put(value, new ArrayList<>());
-                        }
-                        boxMap.get(value).add(new LocationOnBoard(row, col));
-                    }
-                }
-                for(var entry : boxMap.entrySet()) {
-                    if(entry.getValue().size() > 1) {
-                        duplicates.addAll(entry.getValue());
-                    }
-                }
-            }
-        }
-        if(!duplicates.isEmpty()) {
-            return new VerificationResult(GameState.INVALID, duplicates);
-        } else if(hasEmptyCells) {
-            return new VerificationResult(GameState.INCOMPLETE, new ArrayList<>());
-        } else {
-            return new VerificationResult(GameState.VALID, new ArrayList<>());
-        }
+        return new VerificationResult(GameState.INVALID, duplicates);
     }
-}
\ No newline at end of file
+}
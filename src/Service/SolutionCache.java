@@ -0,0 +1,110 @@
+package Service;
+
+import Model.BoardTransform;
+import Model.Game;
+import Model.PackedBoard;
+import Model.SolverType;
+import Exceptions.InvalidGameException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches solutions by a canonical form of the board. Canonicalization is a
+ * heuristic, so symmetric variants of a cached puzzle are best-effort hits:
+ * some variants map to a different key and are solved again.
+ */
+public class SolutionCache {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final LinkedHashMap<String, int[]> entries;
+    private long hits;
+    private long misses;
+
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SolutionCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    public int[] solve(Game game, SolverType type) throws InvalidGameException {
+        return solve(game, type, null);
+    }
+
+    public int[] solve(Game game, SolverType type, SolveMonitor monitor) throws InvalidGameException {
+        PackedBoard board = game.getPackedBoard();
+        int[] values = valuesOf(board);
+        BoardTransform transform = Canonicalizer.canonicalize(board);
+        String key = keyOf(transform.apply(values));
+        int[] cached = lookup(key);
+        if (cached != null) {
+            if (monitor != null) monitor.finish();
+            return BitmaskSolver.encode(board, transform.inverse().apply(cached));
+        }
+        int[] encoded = Solvers.solve(game, type, monitor);
+        int size = board.getSize();
+        for (int move : encoded) {
+            values[move / size] = move % size + 1;
+        }
+        store(key, transform.apply(values));
+        return encoded;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private synchronized int[] lookup(String key) {
+        int[] solution = entries.get(key);
+        if (solution != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return solution;
+    }
+
+    private synchronized void store(String key, int[] solution) {
+        entries.put(key, solution);
+    }
+
+    private static int[] valuesOf(PackedBoard board) {
+        int[] values = new int[board.getGeometry().getCellCount()];
+        for (int i = 0; i < values.length; i++) values[i] = board.get(i);
+        return values;
+    }
+
+    private static String keyOf(int[] values) {
+        char[] chars = new char[values.length];
+        for (int i = 0; i < values.length; i++) chars[i] = (char) values[i];
+        return new String(chars);
+    }
+}
@@ -0,0 +1,45 @@
+package Service;
+
+import Model.BoardGeometry;
+
+import java.util.SplittableRandom;
+
+public class SolutionGenerator {
+    private static final long RESTART_NODES = 4;
+
+    private final SplittableRandom random;
+
+    public SolutionGenerator() {
+        this(new SplittableRandom());
+    }
+
+    public SolutionGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    public SolutionGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public int[][] generate() {
+        return generate(BoardGeometry.STANDARD.getSize());
+    }
+
+    public int[][] generate(int size) {
+        BoardGeometry geometry = BoardGeometry.of(size);
+        BitmaskSolver solver = BitmaskSolver.local(geometry);
+        int[] empty = new int[geometry.getCellCount()];
+        solver.setRandom(random);
+        solver.setNodeLimit(RESTART_NODES * geometry.getCellCount());
+        try {
+            while (true) {
+                solver.load(empty);
+                if (solver.search(1) > 0) return solver.getSolution();
+                if (!solver.isExhausted()) throw new IllegalStateException("No grid found for size " + size);
+            }
+        } finally {
+            solver.setRandom(null);
+            solver.setNodeLimit(Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package Service;
+
+import Interfaces.ProgressListener;
+import Exceptions.InvalidGameException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SolveMonitor {
+    private static final long REPORT_INTERVAL_NANOS = 100_000_000L;
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final ProgressListener listener;
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicLong combinations = new AtomicLong();
+    private final AtomicLong lastReport = new AtomicLong(System.nanoTime());
+    private volatile boolean cancelled;
+
+    public SolveMonitor(long timeoutMillis, ProgressListener listener) {
+        this.hasDeadline = timeoutMillis > 0;
+        this.deadlineNanos = System.nanoTime() + timeoutMillis * 1_000_000L;
+        this.listener = listener;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    public boolean shouldStop() {
+        return cancelled || isExpired();
+    }
+
+    public void addNodes(long count) {
+        nodes.addAndGet(count);
+        report(false);
+    }
+
+    public void addCombinations(long count) {
+        combinations.addAndGet(count);
+        report(false);
+    }
+
+    public long getNodes() {
+        return nodes.get();
+    }
+
+    public long getCombinations() {
+        return combinations.get();
+    }
+
+    public void checkStopped() throws InvalidGameException {
+        if (cancelled) throw new CancellationException("Solve cancelled");
+        if (isExpired()) throw new InvalidGameException("Solve deadline exceeded");
+    }
+
+    public void finish() {
+        report(true);
+    }
+
+    private void report(boolean force) {
+        if (listener == null) return;
+        long now = System.nanoTime();
+        long last = lastReport.get();
+        if (!force && now - last < REPORT_INTERVAL_NANOS) return;
+        if (!force && !lastReport.compareAndSet(last, now)) return;
+        listener.onProgress(nodes.get(), combinations.get());
+    }
+}
@@ -0,0 +1,80 @@
+package Service;
+
+import Model.Game;
+import Model.SolverType;
+import Exceptions.InvalidGameException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SolverBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        List<File> files = new ArrayList<>();
+        if (args.length == 0) {
+            for (String level : new String[]{"easy", "medium", "hard"}) {
+                File[] found = new File("games/" + level).listFiles((dir, name) -> name.endsWith(".csv"));
+                if (found != null) files.addAll(List.of(found));
+            }
+        } else {
+            for (String arg : args) files.add(new File(arg));
+        }
+        if (files.isEmpty()) {
+            System.out.println("No boards to benchmark");
+            return;
+        }
+        for (File file : files) {
+            int[][] board = loadBoard(file);
+            run(file.getName(), board);
+            int[][] fiveEmpty = withFiveEmptyCells(board);
+            if (fiveEmpty != null) run(file.getName() + " (5 empty)", fiveEmpty);
+        }
+    }
+
+    private static void run(String label, int[][] board) {
+        Game game = new Game(board, null);
+        System.out.println(label + " - " + game.getEmptyCellCount() + " empty cells");
+        for (SolverType type : SolverType.values()) {
+            try {
+                for (int i = 0; i < WARMUP_ROUNDS; i++) Solvers.solve(game, type);
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_ROUNDS; i++) Solvers.solve(game, type);
+                long micros = (System.nanoTime() - start) / 1000 / MEASURED_ROUNDS;
+                System.out.printf("  %-14s %10d us%n", type, micros);
+            } catch (InvalidGameException e) {
+                System.out.printf("  %-14s %s%n", type, "skipped: " + e.getMessage());
+            }
+        }
+    }
+
+    private static int[][] withFiveEmptyCells(int[][] board) {
+        int[][] solution;
+        try {
+            solution = BitmaskSolver.solveBoard(board);
+        } catch (InvalidGameException e) {
+            return null;
+        }
+        int removed = 0;
+        int size = board.length;
+        for (int i = 0; i < size * size && removed < 5; i++) {
+            if (board[i / size][i % size] == 0) {
+                solution[i / size][i % size] = 0;
+                removed++;
+            }
+        }
+        return removed == 5 ? solution : null;
+    }
+
+    private static int[][] loadBoard(File file) throws IOException {
+        try (PuzzleReader reader = new PuzzleReader(Files.newBufferedReader(file.toPath()))) {
+            int[][] board = reader.next();
+            if (board == null) throw new IOException("No puzzle in " + file);
+            return board;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package Service;
+
+import Model.Game;
+import Model.SolverType;
+import Exceptions.InvalidGameException;
+
+public class Solvers {
+    public static int[] solve(Game game, SolverType type) throws InvalidGameException {
+        return solve(game, type, null);
+    }
+
+    public static int[] solve(Game game, SolverType type, SolveMonitor monitor) throws InvalidGameException {
+        try {
+            switch (type) {
+                case BRUTE_FORCE:
+                    return SudokuSolver.solve(game, monitor);
+                case DANCING_LINKS:
+                    return DancingLinksSolver.solve(game, monitor);
+                case PARALLEL:
+                    return ParallelSolver.solve(game, monitor);
+                case BITMASK:
+                default:
+                    return BitmaskSolver.solve(game, monitor);
+            }
+        } finally {
+            if (monitor != null) monitor.finish();
+        }
+    }
+}
@@ -4,65 +4,87 @@ import Model.*;
 import Exceptions.InvalidGameException;
 
 import java.util.*;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class SudokuSolver {
     public static final class CellPosition {
-        private static final CellPosition[][] CACHE = new CellPosition[9][9];
+        private static final CellPosition[][][] CACHE = new CellPosition[BoardGeometry.MAX_BOX_SIZE + 1][][];
 
         static {
-            for (int r = 0; r < 9; r++) {
-                for (int c = 0; c < 9; c++) {
-                    CACHE[r][c] = new CellPosition(r, c);
+            for (int boxSize = BoardGeometry.MIN_BOX_SIZE; boxSize <= BoardGeometry.MAX_BOX_SIZE; boxSize++) {
+                int size = boxSize * boxSize;
+                CACHE[boxSize] = new CellPosition[size][size];
+                for (int r = 0; r < size; r++) {
+                    for (int c = 0; c < size; c++) {
+                        CACHE[boxSize][r][c] = new CellPosition(r, c, boxSize);
+                    }
                 }
             }
         }
 
         public static CellPosition of(int row, int col) {
-            return CACHE[row][col];
+            return of(row, col, BoardGeometry.STANDARD);
+        }
+
+        public static CellPosition of(int row, int col, BoardGeometry geometry) {
+            return CACHE[geometry.getBoxSize()][row][col];
         }
 
         public final int row;
         public final int col;
         public final int box;
 
-        private CellPosition(int row, int col) {
+        private CellPosition(int row, int col, int boxSize) {
             this.row = row;
             this.col = col;
-            this.box = (row / 3) * 3 + (col / 3);
+            this.box = (row / boxSize) * boxSize + (col / boxSize);
         }
     }
 
     private static class BoardContext {
+        private final BoardGeometry geometry;
+        private final int size;
         private final int[][] board;
         private final List<CellPosition> emptyCells;
         private final List<Integer>[] rowEmptyIndices;
         private final List<Integer>[] colEmptyIndices;
         private final List<Integer>[] boxEmptyIndices;
+        private final int[] rowMask;
+        private final int[] colMask;
+        private final int[] boxMask;
 
-        @SuppressWarnings("unchecked")
+        @SuppressWarnings({"unchecked", "rawtypes"})
         public BoardContext(int[][] board) {
+            this.geometry = BoardGeometry.of(board.length);
+            this.size = geometry.getSize();
             this.board = board;
             this.emptyCells = new ArrayList<>();
-            rowEmptyIndices = (List<Integer>[]) new List[9];
-            colEmptyIndices = (List<Integer>[]) new List[9];
-            boxEmptyIndices = (List<Integer>[]) new List[9];
-            for (int i = 0; i < 9; i++) {
+            rowMask = new int[size];
+            colMask = new int[size];
+            boxMask = new int[size];
+            rowEmptyIndices = (List<Integer>[]) new List[size];
+            colEmptyIndices = (List<Integer>[]) new List[size];
+            boxEmptyIndices = (List<Integer>[]) new List[size];
+            for (int i = 0; i < size; i++) {
                 rowEmptyIndices[i] = new ArrayList<>();
                 colEmptyIndices[i] = new ArrayList<>();
                 boxEmptyIndices[i] = new ArrayList<>();
             }
-            for (int i = 0; i < 9; i++) {
-                for (int j = 0; j < 9; j++) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    CellPosition cell = CellPosition.of(i, j, geometry);
                     if (board[i][j] == 0) {
                         int index = emptyCells.size();
-                        CellPosition cell = CellPosition.of(i, j);
                         emptyCells.add(cell);
                         rowEmptyIndices[i].add(index);
                         colEmptyIndices[j].add(index);
                         boxEmptyIndices[cell.box].add(index);
+                    } else {
+                        int bit = 1 << board[i][j];
+                        rowMask[i] |= bit;
+                        colMask[j] |= bit;
+                        boxMask[cell.box] |= bit;
                     }
                 }
             }
@@ -71,6 +93,14 @@ public class SudokuSolver {
             }
         }
 
+        public int getSize() {
+            return size;
+        }
+
+        public int getBoxSize() {
+            return geometry.getBoxSize();
+        }
+
         public List<CellPosition> getEmptyCells() {
             return emptyCells;
         }
@@ -90,16 +120,33 @@ public class SudokuSolver {
         public List<Integer> getEmptyCellsInBox(int box) {
             return boxEmptyIndices[box];
         }
+
+        public boolean fitsPrefix(int[] prefix, int index, int value) {
+            CellPosition cell = emptyCells.get(index);
+            int bit = 1 << value;
+            if (((rowMask[cell.row] | colMask[cell.col] | boxMask[cell.box]) & bit) != 0) return false;
+            for (int k = 0; k < index; k++) {
+                CellPosition other = emptyCells.get(k);
+                if (prefix[k] == value && (other.row == cell.row || other.col == cell.col || other.box == cell.box)) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     private static class PermutationIterator implements Iterator<int[]> {
         private final int size;
+        private final int maxValue;
         private final int[] current;
+        private final int[] result;
         private boolean hasNext;
 
-        public PermutationIterator(int size) {
+        public PermutationIterator(int size, int maxValue) {
             this.size = size;
+            this.maxValue = maxValue;
             this.current = new int[size];
+            this.result = new int[size];
             Arrays.fill(current, 1);
             this.hasNext = true;
         }
@@ -114,10 +161,10 @@ public class SudokuSolver {
             if (!hasNext) {
                 throw new NoSuchElementException();
             }
-            int[] result = current.clone();
+            System.arraycopy(current, 0, result, 0, size);
             int i = size - 1;
             while (i >= 0) {
-                if (current[i] < 9) {
+                if (current[i] < maxValue) {
                     current[i]++;
                     break;
                 } else {
@@ -132,181 +179,171 @@ public class SudokuSolver {
         }
     }
 
-    private static class VerificationWorker implements Runnable {
+    @SuppressWarnings("serial")
+    private static class CombinationTask extends RecursiveAction {
+        private static final int SPLIT_DEPTH = 2;
+        private static final int POLL_INTERVAL = 1024;
         private final BoardContext context;
-        private final int[] combination;
-        private final AtomicBoolean solutionFound;
+        private final int[] prefix;
+        private final int depth;
         private final AtomicReference<int[]> solution;
-        private final CountDownLatch completionLatch;
+        private final SolveMonitor monitor;
 
-        public VerificationWorker(BoardContext context, int[] combination,
-                                  AtomicBoolean solutionFound, AtomicReference<int[]> solution,
-                                  CountDownLatch completionLatch) {
+        public CombinationTask(BoardContext context, int[] prefix, int depth,
+                               AtomicReference<int[]> solution, SolveMonitor monitor) {
             this.context = context;
-            this.combination = combination;
-            this.solutionFound = solutionFound;
+            this.prefix = prefix;
+            this.depth = depth;
             this.solution = solution;
-            this.completionLatch = completionLatch;
+            this.monitor = monitor;
         }
 
         @Override
-        public void run() {
+        protected void compute() {
+            if (solution.get() != null || (monitor != null && monitor.shouldStop())) return;
+            if (depth >= SPLIT_DEPTH || depth >= prefix.length) {
+                enumerateSuffix();
+                return;
+            }
+            int maxValue = context.getSize();
+            List<CombinationTask> children = new ArrayList<>(maxValue);
+            for (int value = 1; value <= maxValue; value++) {
+                if (context.fitsPrefix(prefix, depth, value)) {
+                    int[] next = prefix.clone();
+                    next[depth] = value;
+                    children.add(new CombinationTask(context, next, depth + 1, solution, monitor));
+                }
+            }
+            invokeAll(children);
+        }
+
+        private void enumerateSuffix() {
+            int[] combination = prefix;
+            int maxValue = context.getSize();
+            for (int i = depth; i < combination.length; i++) combination[i] = 1;
+            int checked = 0;
             try {
-                if (solutionFound.get()) return;
-                if (isValidCombination(context, combination)) {
-                    if (!solutionFound.getAndSet(true)) {
-                        solution.set(encodeSolution(context.getEmptyCells(), combination));
+                while (true) {
+                    if (solution.get() != null) return;
+                    checked++;
+                    if (isValidCombination(context, combination)) {
+                        solution.compareAndSet(null, encodeSolution(context, combination));
+                        return;
+                    }
+                    if (monitor != null && checked >= POLL_INTERVAL) {
+                        monitor.addCombinations(checked);
+                        checked = 0;
+                        if (monitor.shouldStop()) return;
+                    }
+                    int i = combination.length - 1;
+                    while (i >= depth && combination[i] == maxValue) {
+                        combination[i] = 1;
+                        i--;
                     }
+                    if (i < depth) return;
+                    combination[i]++;
                 }
             } finally {
-                completionLatch.countDown();
+                if (monitor != null) monitor.addCombinations(checked);
             }
         }
     }
 
     public static int[] solve(Game game) throws InvalidGameException {
+        return solve(game, null);
+    }
+
+    public static int[] solve(Game game, SolveMonitor monitor) throws InvalidGameException {
         if (game.getEmptyCellCount() != 5) throw new InvalidGameException("Solver only works for exactly 5 empty cells");
         BoardContext context = new BoardContext(game.getBoard());
-        AtomicBoolean solutionFound = new AtomicBoolean(false);
         AtomicReference<int[]> solution = new AtomicReference<>();
-        PermutationIterator iterator = new PermutationIterator(5);
-        int availableProcessors = Runtime.getRuntime().availableProcessors();
-        int threadPoolSize = Math.max(2, availableProcessors);
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
-        try {
-            List<Future<?>> futures = new ArrayList<>();
-            CountDownLatch latch = new CountDownLatch(0);
-            int batchCounter = 0;
-            final int BATCH_SIZE = 50;
-            while (iterator.hasNext() && !solutionFound.get()) {
-                int[] combination = iterator.next();
-                if (batchCounter % BATCH_SIZE == 0) {
-                    latch = new CountDownLatch(Math.min(BATCH_SIZE, countRemainingCombinations(iterator) + 1));
-                }
-                VerificationWorker worker = new VerificationWorker(context, combination, solutionFound, solution, latch);
-                futures.add(executor.submit(worker));
-                batchCounter++;
-                if (batchCounter % BATCH_SIZE == 0 || solutionFound.get()) {
-                    if (solutionFound.get()) cancelRemainingFutures(futures);
-                    latch.await(10, TimeUnit.SECONDS);
-                    futures.clear();
-                }
-            }
-            executor.shutdown();
-            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) executor.shutdownNow();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new InvalidGameException("Solver interrupted");
-        } finally {
-            executor.shutdownNow();
-        }
+        SharedPool.get().invoke(new CombinationTask(context, new int[5], 0, solution, monitor));
         int[] result = solution.get();
         if (result != null) return result;
+        if (monitor != null) monitor.checkStopped();
         throw new InvalidGameException("No solution found for the board");
     }
 
-    private static int countRemainingCombinations(PermutationIterator iterator) {
-        return 100;
-    }
-
-    private static void cancelRemainingFutures(List<Future<?>> futures) {
-        for (Future<?> future : futures) future.cancel(true);
-    }
-
     private static boolean isValidCombination(BoardContext context, int[] combination) {
-        for (int row = 0; row < 9; row++) {
-            boolean[] seen = new boolean[10];
+        int size = context.getSize();
+        int boxSize = context.getBoxSize();
+        for (int row = 0; row < size; row++) {
+            int seen = 0;
             boolean valid = true;
-            for (int col = 0; col < 9; col++) {
+            for (int col = 0; col < size; col++) {
                 int value = context.getValue(row, col);
                 if (value != 0) {
-                    if (seen[value]) {
+                    int bit = 1 << value;
+                    if ((seen & bit) != 0) {
                         valid = false;
                         break;
                     }
-                    seen[value] = true;
+                    seen |= bit;
                 }
             }
             if (!valid) continue;
-            for (int emptyIndex : context.getEmptyCellsInRow(row)) {
-                int value = combination[emptyIndex];
-                if (value != 0) {
-                    if (seen[value]) {
-                        valid = false;
-                        break;
-                    }
-                    seen[value] = true;
-                }
-            }
-            if (!valid) return false;
+            if (!addsUniquely(seen, context.getEmptyCellsInRow(row), combination)) return false;
         }
-        for (int col = 0; col < 9; col++) {
-            boolean[] seen = new boolean[10];
+        for (int col = 0; col < size; col++) {
+            int seen = 0;
             boolean valid = true;
-            for (int row = 0; row < 9; row++) {
+            for (int row = 0; row < size; row++) {
                 int value = context.getValue(row, col);
                 if (value != 0) {
-                    if (seen[value]) {
+                    int bit = 1 << value;
+                    if ((seen & bit) != 0) {
                         valid = false;
                         break;
                     }
-                    seen[value] = true;
+                    seen |= bit;
                 }
             }
             if (!valid) continue;
-            for (int emptyIndex : context.getEmptyCellsInColumn(col)) {
-                int value = combination[emptyIndex];
-                if (value != 0) {
-                    if (seen[value]) {
-                        valid = false;
-                        break;
-                    }
-                    seen[value] = true;
-                }
-            }
-            if (!valid) return false;
+            if (!addsUniquely(seen, context.getEmptyCellsInColumn(col), combination)) return false;
         }
-        for (int box = 0; box < 9; box++) {
-            boolean[] seen = new boolean[10];
+        for (int box = 0; box < size; box++) {
+            int seen = 0;
             boolean valid = true;
-            int startRow = (box / 3) * 3;
-            int startCol = (box % 3) * 3;
-            for (int i = 0; i < 3; i++) {
-                for (int j = 0; j < 3; j++) {
-                    int row = startRow + i;
-                    int col = startCol + j;
-                    int value = context.getValue(row, col);
+            int startRow = (box / boxSize) * boxSize;
+            int startCol = (box % boxSize) * boxSize;
+            for (int i = 0; i < boxSize && valid; i++) {
+                for (int j = 0; j < boxSize; j++) {
+                    int value = context.getValue(startRow + i, startCol + j);
                     if (value != 0) {
-                        if (seen[value]) {
+                        int bit = 1 << value;
+                        if ((seen & bit) != 0) {
                             valid = false;
                             break;
                         }
-                        seen[value] = true;
+                        seen |= bit;
                     }
                 }
-                if (!valid) break;
             }
             if (!valid) continue;
-            for (int emptyIndex : context.getEmptyCellsInBox(box)) {
-                int value = combination[emptyIndex];
-                if (value != 0) {
-                    if (seen[value]) {
-                        valid = false;
-                        break;
-                    }
-                    seen[value] = true;
-                }
+            if (!addsUniquely(seen, context.getEmptyCellsInBox(box), combination)) return false;
+        }
+        return true;
+    }
+
+    private static boolean addsUniquely(int seen, List<Integer> emptyIndices, int[] combination) {
+        for (int emptyIndex : emptyIndices) {
+            int value = combination[emptyIndex];
+            if (value != 0) {
+                int bit = 1 << value;
+                if ((seen & bit) != 0) return false;
+                seen |= bit;
             }
-            if (!valid) return false;
         }
         return true;
     }
 
-    private static int[] encodeSolution(List<CellPosition> emptyCells, int[] combination) {
+    private static int[] encodeSolution(BoardContext context, int[] combination) {
+        List<CellPosition> emptyCells = context.getEmptyCells();
+        int size = context.getSize();
         int[] encoded = new int[emptyCells.size()];
         for (int i = 0; i < emptyCells.size(); i++) {
             CellPosition cell = emptyCells.get(i);
-            encoded[i] = cell.row * 81 + cell.col * 9 + (combination[i] - 1);
+            encoded[i] = (cell.row * size + cell.col) * size + (combination[i] - 1);
         }
         return encoded;
     }
@@ -314,11 +351,11 @@ public class SudokuSolver {
     public static int[] solveSequential(Game game) throws InvalidGameException {
         if (game.getEmptyCellCount() != 5) throw new InvalidGameException("Solver only works for exactly 5 empty cells");
         BoardContext context = new BoardContext(game.getBoard());
-        PermutationIterator iterator = new PermutationIterator(5);
+        PermutationIterator iterator = new PermutationIterator(5, context.getSize());
         while (iterator.hasNext()) {
             int[] combination = iterator.next();
             if (isValidCombination(context, combination)) {
-                return encodeSolution(context.getEmptyCells(), combination);
+                return encodeSolution(context, combination);
             }
         }
         throw new InvalidGameException("No solution found for the board");
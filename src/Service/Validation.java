@@ -2,17 +2,85 @@ package Service;
 
 import Model.LocationOnBoard;
 import Model.Table;
+import Model.ValidationMode;
 import Model.ValidationResult;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public interface Validation {
 
     static ValidationResult validate(Table table) {
-        Set<LocationOnBoard> duplicateLocations = new HashSet<>();
-        boolean isValid = true;
-        return new ValidationResult(isValid, new ArrayList<>(duplicateLocations));
+        return validate(table, ValidationMode.SEQUENTIAL);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ValidationResult validate(Table table, ValidationMode mode) {
+        int size = table.getSize();
+        List<LocationOnBoard>[] slots = (List<LocationOnBoard>[]) new List[3 * size];
+        ForkJoinPool pool = SharedPool.get();
+        switch (mode) {
+            case THREE_WORKERS: {
+                ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[3];
+                for (int type = 0; type < 3; type++) {
+                    int first = type * size;
+                    tasks[type] = pool.submit(() -> {
+                        for (int unit = first; unit < first + size; unit++) {
+                            slots[unit] = checkUnit(table, unit);
+                        }
+                    });
+                }
+                for (ForkJoinTask<?> task : tasks) task.join();
+                break;
+            }
+            case UNIT_WORKERS: {
+                ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[slots.length];
+                for (int unit = 0; unit < slots.length; unit++) {
+                    int index = unit;
+                    tasks[unit] = pool.submit(() -> {
+                        slots[index] = checkUnit(table, index);
+                    });
+                }
+                for (ForkJoinTask<?> task : tasks) task.join();
+                break;
+            }
+            case SEQUENTIAL:
+            default:
+                for (int unit = 0; unit < slots.length; unit++) {
+                    slots[unit] = checkUnit(table, unit);
+                }
+        }
+        Set<LocationOnBoard> duplicateLocations = new LinkedHashSet<>();
+        for (List<LocationOnBoard> slot : slots) {
+            duplicateLocations.addAll(slot);
+        }
+        return new ValidationResult(duplicateLocations.isEmpty(), new ArrayList<>(duplicateLocations));
+    }
+
+    private static List<LocationOnBoard> checkUnit(Table table, int unit) {
+        int size = table.getSize();
+        int index = unit % size;
+        List<LocationOnBoard> duplicates = new ArrayList<>();
+        switch (unit / size) {
+            case 0:
+                for (List<Integer> cols : table.getRows()[index].getDuplicatedRow().values()) {
+                    for (int col : cols) duplicates.add(new LocationOnBoard(index, col));
+                }
+                break;
+            case 1:
+                for (List<Integer> rows : table.getColumns()[index].getDuplicatedColumn().values()) {
+                    for (int row : rows) duplicates.add(new LocationOnBoard(row, index));
+                }
+                break;
+            default:
+                for (List<LocationOnBoard> cells : table.getBoxes()[index].getDuplicatedBox().values()) {
+                    duplicates.addAll(cells);
+                }
+        }
+        return duplicates;
     }
 }
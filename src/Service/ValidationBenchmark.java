@@ -0,0 +1,62 @@
+package Service;
+
+import Model.Table;
+import Model.ValidationMode;
+import Exceptions.InvalidGameException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ValidationBenchmark {
+    private static final int[] DEFAULT_COUNTS = {1, 10, 100, 1000, 10000};
+    private static final int WARMUP_BOARDS = 2000;
+
+    public static void main(String[] args) throws InvalidGameException {
+        int[] counts = DEFAULT_COUNTS;
+        if (args.length > 0) {
+            counts = new int[args.length];
+            for (int i = 0; i < args.length; i++) counts[i] = Integer.parseInt(args[i]);
+        }
+        int[][] solution = BitmaskSolver.solveBoard(new int[9][9]);
+        Random random = new Random(42);
+        List<Table> warmup = boards(solution, WARMUP_BOARDS, random);
+        for (ValidationMode mode : ValidationMode.values()) run(warmup, mode);
+
+        System.out.printf("%-8s", "boards");
+        for (ValidationMode mode : ValidationMode.values()) System.out.printf(" %16s", mode);
+        System.out.println();
+        for (int count : counts) {
+            List<Table> tables = boards(solution, count, random);
+            long sequential = 0;
+            System.out.printf("%-8d", count);
+            for (ValidationMode mode : ValidationMode.values()) {
+                long nanos = run(tables, mode);
+                if (mode == ValidationMode.SEQUENTIAL) sequential = nanos;
+                System.out.printf(" %9d us %4.2fx", nanos / 1000, nanos > 0 ? (double) sequential / nanos : 0.0);
+            }
+            System.out.println();
+        }
+        System.out.println("Pool parallelism: " + SharedPool.get().getParallelism()
+                + ", available processors: " + Runtime.getRuntime().availableProcessors());
+    }
+
+    private static long run(List<Table> tables, ValidationMode mode) {
+        long start = System.nanoTime();
+        for (Table table : tables) Validation.validate(table, mode);
+        return System.nanoTime() - start;
+    }
+
+    private static List<Table> boards(int[][] solution, int count, Random random) {
+        List<Table> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int[][] board = new int[9][9];
+            for (int row = 0; row < 9; row++) board[row] = solution[row].clone();
+            if (random.nextBoolean()) {
+                board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+            }
+            tables.add(Table.fromBoard(board));
+        }
+        return tables;
+    }
+}
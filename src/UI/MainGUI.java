@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.IOException;
 
 public class MainGUI extends JFrame {
+    private static final long serialVersionUID = 1L;
     private ControllerFacade controller;
     private GameController gameController;
     private SudokuGUI sudokuGUI;
@@ -147,8 +148,8 @@ public class MainGUI extends JFrame {
         centerPanel.setBorder(BorderFactory.createEmptyBorder(20, 50, 20, 50));
         JTextArea instructionLabel = new JTextArea();
         instructionLabel.setText("                       No games found in storage.\n" +
-                "Please load a fully solved Sudoku CSV file to generate games.\n" +
-                "              The file must be 9x9 with numbers 1-9.");
+                "Load a fully solved Sudoku CSV file or generate a new grid.\n" +
+                "          The file must be NxN (N = 4, 9, 16 or 25) with numbers 1-N.");
         instructionLabel.setFont(new Font("Arial", Font.PLAIN, 20));
         instructionLabel.setForeground(Color.BLACK);
         instructionLabel.setBackground(new Color(250, 250, 245));
@@ -162,6 +163,10 @@ public class MainGUI extends JFrame {
         loadButton.setFont(new Font("Arial", Font.BOLD, 18));
         loadButton.setPreferredSize(new Dimension(350, 70));
         loadButton.addActionListener(e -> loadSolvedSudoku());
+        JButton generateButton = createStyledButton("  GENERATE NEW GAMES  ", new Color(100, 180, 120));
+        generateButton.setFont(new Font("Arial", Font.BOLD, 18));
+        generateButton.setPreferredSize(new Dimension(350, 70));
+        generateButton.addActionListener(e -> generateNewGames());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridx = 0;
         gbc.gridy = 0;
@@ -175,6 +180,9 @@ public class MainGUI extends JFrame {
         gbc.insets = new Insets(0, 0, 0, 0);
         gbc.weightx = 0;
         centerPanel.add(loadButton, gbc);
+        gbc.gridy = 2;
+        gbc.insets = new Insets(20, 0, 0, 0);
+        centerPanel.add(generateButton, gbc);
         loadPanel.add(titleLabel, BorderLayout.NORTH);
         loadPanel.add(centerPanel, BorderLayout.CENTER);
         add(loadPanel);
@@ -193,15 +201,7 @@ public class MainGUI extends JFrame {
             File selectedFile = fileChooser.getSelectedFile();
             try {
                 controller.driveGames(selectedFile.getAbsolutePath());
-                JOptionPane.showMessageDialog(this,
-                        "Games Generated Successfully!\n\n" +
-                                "Three difficulty levels have been created:\n" +
-                                "• Easy (10 empty cells)\n" +
-                                "• Medium (20 empty cells)\n" +
-                                "• Hard (25 empty cells)",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                showDifficultySelection();
+                showGamesGenerated();
             } catch (SolutionInvalidException e) {
                 JOptionPane.showMessageDialog(this,
                         "Invalid Solution\n\n" + e.getMessage() + "\n" +
@@ -216,6 +216,28 @@ public class MainGUI extends JFrame {
             }
         }
     }
+    private void generateNewGames() {
+        try {
+            controller.driveGames(9);
+            showGamesGenerated();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error generating games: " + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    private void showGamesGenerated() {
+        JOptionPane.showMessageDialog(this,
+                "Games Generated Successfully!\n\n" +
+                        "Three difficulty levels have been created:\n" +
+                        "• Easy (" + gameController.getEmptyCells(Difficulty.EASY) + " empty cells)\n" +
+                        "• Medium (" + gameController.getEmptyCells(Difficulty.MEDIUM) + " empty cells)\n" +
+                        "• Hard (" + gameController.getEmptyCells(Difficulty.HARD) + " empty cells)",
+                "Success",
+                JOptionPane.INFORMATION_MESSAGE);
+        showDifficultySelection();
+    }
     private void loadGameUI(Game game, String title) {
         getContentPane().removeAll();
         sudokuGUI = new SudokuGUI(controller, gameController, game, this, musicPlayer, musicEnabled);
@@ -259,6 +281,7 @@ public class MainGUI extends JFrame {
         if (musicPlayer != null) {
             musicPlayer.stopMusic();
         }
+        gameController.close();
         dispose();
     }
     public void returnToMainMenu() {
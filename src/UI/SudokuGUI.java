@@ -4,7 +4,6 @@ import Controller.ControllerFacade;
 import Controller.GameController;
 import Model.*;
 import Utility.MusicPlayer;
-import Exceptions.InvalidGameException;
 import javax.swing.*;
 import javax.swing.Timer;
 import java.awt.*;
@@ -12,24 +11,30 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class SudokuGUI extends JPanel {
+    private static final long serialVersionUID = 1L;
+    private static final long SOLVE_TIMEOUT_MILLIS = 10_000;
     private ControllerFacade controller;
     private GameController gameController;
     private Game currentGame;
     private MainGUI mainGUI;
     private MusicPlayer musicPlayer;
     private boolean musicEnabled;
-    private JButton[][] cellButtons = new JButton[9][9];
+    private JButton[][] cellButtons;
     private JButton verifyButton;
     private JButton solveButton;
     private JButton undoButton;
+    private JButton redoButton;
+    private JButton hintButton;
     private JButton mainMenuButton;
+    private JLabel statusLabel;
+    private CompletableFuture<List<Move>> pendingSolve;
     private boolean hasUnsavedChanges = false;
 
     public SudokuGUI(ControllerFacade controller, GameController gameController, Game game, MainGUI mainGUI, MusicPlayer musicPlayer, boolean musicEnabled) {
@@ -39,6 +44,7 @@ public class SudokuGUI extends JPanel {
         this.mainGUI = mainGUI;
         this.musicPlayer = musicPlayer;
         this.musicEnabled = musicEnabled;
+        this.cellButtons = new JButton[game.getSize()][game.getSize()];
         initializeUI();
         updateSolveButtonState();
     }
@@ -55,10 +61,11 @@ public class SudokuGUI extends JPanel {
         updateBoardDisplay();
     }
     private JPanel createGridPanel() {
-        JPanel gridPanel = new JPanel(new GridLayout(9, 9, 0, 0));
+        int size = currentGame.getSize();
+        JPanel gridPanel = new JPanel(new GridLayout(size, size, 0, 0));
         gridPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 3));
-        for(int row = 0; row < 9; row++) {
-            for(int col = 0; col < 9; col++) {
+        for(int row = 0; row < size; row++) {
+            for(int col = 0; col < size; col++) {
                 JButton button = createCellButton(row, col);
                 cellButtons[row][col] = button;
                 gridPanel.add(button);
@@ -69,12 +76,15 @@ public class SudokuGUI extends JPanel {
 
     private JButton createCellButton(int row, int col) {
         JButton button = new JButton();
-        button.setFont(new Font("Arial", Font.BOLD, 20));
+        int size = currentGame.getSize();
+        int boxSize = currentGame.getBoxSize();
+        button.setFont(new Font("Arial", Font.BOLD, size > 9 ? 180 / size : 20));
         button.setFocusPainted(false);
-        int top = (row % 3 == 0) ? 3 : 1;
-        int left = (col % 3 == 0) ? 3 : 1;
-        int bottom = (row == 8 || (row + 1) % 3 == 0) ? 3 : 1;
-        int right = (col == 8 || (col + 1) % 3 == 0) ? 3 : 1;
+        button.setMargin(new Insets(0, 0, 0, 0));
+        int top = (row % boxSize == 0) ? 3 : 1;
+        int left = (col % boxSize == 0) ? 3 : 1;
+        int bottom = (row == size - 1 || (row + 1) % boxSize == 0) ? 3 : 1;
+        int right = (col == size - 1 || (col + 1) % boxSize == 0) ? 3 : 1;
         button.setBorder(BorderFactory.createMatteBorder(top, left, bottom, right, Color.BLACK));
         if(currentGame.isFixedCell(row, col)) {
             button.setBackground(new Color(240, 240, 240));
@@ -82,7 +92,7 @@ public class SudokuGUI extends JPanel {
             button.setEnabled(false);
         } else {
             button.setBackground(Color.WHITE);
-            if(currentGame.getBoard()[row][col] != 0) {
+            if(currentGame.getCellValue(row, col) != 0) {
                 button.setForeground(new Color(0, 100, 200));
             } else {
                 button.setForeground(new Color(0, 100, 200));
@@ -98,6 +108,8 @@ public class SudokuGUI extends JPanel {
         verifyButton = createStyledButton("VERIFY", new Color(50, 150, 50));
         solveButton = createStyledButton("SOLVE", new Color(50, 100, 200));
         undoButton = createStyledButton("UNDO", new Color(200, 150, 50));
+        redoButton = createStyledButton("REDO", new Color(150, 120, 60));
+        hintButton = createStyledButton("HINT", new Color(0, 150, 150));
         mainMenuButton = createStyledButton("MAIN MENU", new Color(200, 100, 50));
         Color musicButtonColor = new Color(128, 0, 128); // Purple color
         JButton musicButton = new JButton("Music: " + (musicEnabled ? "ON" : "OFF"));
@@ -131,8 +143,16 @@ public class SudokuGUI extends JPanel {
             }
         });
         verifyButton.addActionListener(e -> verifyBoard());
-        solveButton.addActionListener(e -> solveGame());
+        solveButton.addActionListener(e -> {
+            if(pendingSolve != null) {
+                pendingSolve.cancel(true);
+            } else {
+                solveGame();
+            }
+        });
         undoButton.addActionListener(e -> undoMove());
+        redoButton.addActionListener(e -> redoMove());
+        hintButton.addActionListener(e -> showHint());
         mainMenuButton.addActionListener(e -> returnToMainMenu());
         musicButton.addActionListener(e -> {
             musicEnabled = !musicEnabled;
@@ -150,13 +170,17 @@ public class SudokuGUI extends JPanel {
             musicButton.setText("Music: " + (musicEnabled ? "ON" : "OFF"));
         });
         verifyButton.setToolTipText("Verify current board");
-        solveButton.setToolTipText("Solve puzzle (available when exactly 5 cells empty)");
+        solveButton.setToolTipText("Solve puzzle (available while cells are empty)");
         undoButton.setToolTipText("Undo last move");
+        redoButton.setToolTipText("Redo last undone move");
+        hintButton.setToolTipText("Show the next logically forced move");
         musicButton.setToolTipText("Toggle background music");
         mainMenuButton.setToolTipText("Return to main menu");
         controlPanel.add(verifyButton);
         controlPanel.add(solveButton);
         controlPanel.add(undoButton);
+        controlPanel.add(redoButton);
+        controlPanel.add(hintButton);
         controlPanel.add(musicButton);
         controlPanel.add(mainMenuButton);
         return controlPanel;
@@ -168,11 +192,19 @@ public class SudokuGUI extends JPanel {
         infoPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         String difficulty = currentGame.getDifficulty() != null ?
                 currentGame.getDifficulty().toString() : "Unfinished";
-        JLabel difficultyLabel = new JLabel("Game Mode: " + difficulty);
+        Technique rating = gameController.gradeGame(currentGame);
+        JLabel difficultyLabel = new JLabel("Game Mode: " + difficulty +
+                (rating != null ? " (rated " + rating.getDifficulty() + ")" : ""));
+        if(rating != null) {
+            difficultyLabel.setToolTipText("Hardest technique needed: " + rating.toString().replace('_', ' ').toLowerCase());
+        }
         difficultyLabel.setFont(new Font("Arial", Font.BOLD, 14));
         JLabel emptyCellsLabel = new JLabel("Empty cells when started: " + currentGame.getEmptyCellCount());
         emptyCellsLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        statusLabel = new JLabel("", SwingConstants.CENTER);
+        statusLabel.setFont(new Font("Arial", Font.ITALIC, 12));
         infoPanel.add(difficultyLabel, BorderLayout.WEST);
+        infoPanel.add(statusLabel, BorderLayout.CENTER);
         infoPanel.add(emptyCellsLabel, BorderLayout.EAST);
         return infoPanel;
     }
@@ -206,6 +238,9 @@ public class SudokuGUI extends JPanel {
         }
         @Override
         public void actionPerformed(ActionEvent e) {
+            if(pendingSolve != null) {
+                return;
+            }
             if(currentGame.isFixedCell(row, col)) {
                 JOptionPane.showMessageDialog(SudokuGUI.this,
                         "This cell is a preloaded clue and cannot be edited!",
@@ -213,7 +248,11 @@ public class SudokuGUI extends JPanel {
                         JOptionPane.WARNING_MESSAGE);
                 return;
             }
-            Object[] possibilities = {"1", "2", "3", "4", "5", "6", "7", "8", "9", "Clear"};
+            Object[] possibilities = new Object[currentGame.getSize() + 1];
+            for(int v = 1; v <= currentGame.getSize(); v++) {
+                possibilities[v - 1] = String.valueOf(v);
+            }
+            possibilities[currentGame.getSize()] = "Clear";
             String selected = (String)JOptionPane.showInputDialog(
                     SudokuGUI.this,
                     "Select value for cell (" + (row+1) + "," + (col+1) + "):",
@@ -221,20 +260,19 @@ public class SudokuGUI extends JPanel {
                     JOptionPane.PLAIN_MESSAGE,
                     null,
                     possibilities,
-                    currentGame.getBoard()[row][col] == 0 ? "1" : String.valueOf(currentGame.getBoard()[row][col])
+                    currentGame.getCellValue(row, col) == 0 ? "1" : String.valueOf(currentGame.getCellValue(row, col))
             );
             if(selected != null) {
                 try {
                     int value = selected.equals("Clear") ? 0 : Integer.parseInt(selected);
-                    int previousValue = currentGame.getBoard()[row][col];
+                    MoveRecord move = currentGame.play(row, col, value);
 
-                    if(value == previousValue) {
+                    if(move == null) {
                         return;
                     }
-                    currentGame.setCellValue(row, col, value);
                     updateBoardDisplay();
                     hasUnsavedChanges = true;
-                    UserAction userAction = new UserAction(row, col, value, previousValue);
+                    UserAction userAction = new UserAction(row, col, value, move.getPreviousValue());
                     try {
                         controller.logUserAction(userAction);
                     } catch (IOException ex) {
@@ -250,26 +288,37 @@ public class SudokuGUI extends JPanel {
         }
     }
     private void verifyBoard() {
-        boolean[][] cellValidity = controller.verifyGame(currentGame.getBoard());
+        verifyButton.setEnabled(false);
+        statusLabel.setText("Verifying...");
+        controller.verifyAsync(currentGame.getBoard()).whenComplete((verification, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    verifyButton.setEnabled(pendingSolve == null);
+                    statusLabel.setText("");
+                    if(error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        JOptionPane.showMessageDialog(this,
+                                "Error verifying board: " + cause.getMessage(),
+                                "Verify Error",
+                                JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    showVerification(verification);
+                }));
+    }
+    private void showVerification(BoardVerification verification) {
         resetAllCellColors();
-        boolean allValid = true;
-        boolean hasEmpty = false;
-        Set<String> invalidCells = new HashSet<>();
-        for(int i = 0; i < 9; i++) {
-            for(int j = 0; j < 9; j++) {
-                if(!cellValidity[i][j]) {
-                    allValid = false;
-                    invalidCells.add(i + "," + j);
+        List<int[]> invalidCells = new ArrayList<>();
+        for(int i = 0; i < verification.getSize(); i++) {
+            for(int j = 0; j < verification.getSize(); j++) {
+                if(verification.isConflicting(i, j)) {
+                    invalidCells.add(new int[]{i, j});
                     cellButtons[i][j].setBackground(Color.RED);
                     cellButtons[i][j].setForeground(Color.WHITE);
                 }
-                if(currentGame.getBoard()[i][j] == 0) {
-                    hasEmpty = true;
-                }
             }
         }
-        if(allValid) {
-            if(!hasEmpty) {
+        if(!verification.hasConflicts()) {
+            if(verification.isValid()) {
                 if (musicEnabled && musicPlayer != null) {
                     try {
                         musicPlayer.playSuccessMusic();
@@ -300,10 +349,9 @@ public class SudokuGUI extends JPanel {
             message.append("Board is Invalid\n\n");
             message.append("Duplicate values found at cells:\n");
             int count = 0;
-            for(String cell : invalidCells) {
-                String[] coords = cell.split(",");
-                int row = Integer.parseInt(coords[0]) + 1;
-                int col = Integer.parseInt(coords[1]) + 1;
+            for(int[] cell : invalidCells) {
+                int row = cell[0] + 1;
+                int col = cell[1] + 1;
                 message.append("(").append(row).append(",").append(col).append(") ");
                 count++;
                 if(count % 4 == 0) message.append("\n");
@@ -315,27 +363,30 @@ public class SudokuGUI extends JPanel {
         }
     }
     private void resetAllCellColors() {
-        for(int row = 0; row < 9; row++) {
-            for(int col = 0; col < 9; col++) {
+        for(int row = 0; row < currentGame.getSize(); row++) {
+            for(int col = 0; col < currentGame.getSize(); col++) {
                 if(currentGame.isFixedCell(row, col)) {
                     cellButtons[row][col].setBackground(new Color(240, 240, 240));
                     cellButtons[row][col].setForeground(Color.BLACK);
                 } else {
                     cellButtons[row][col].setBackground(Color.WHITE);
-                    if(currentGame.getBoard()[row][col] != 0) {
+                    if(currentGame.getCellValue(row, col) != 0) {
                         cellButtons[row][col].setForeground(new Color(0, 100, 200));
                     } else {
                         cellButtons[row][col].setForeground(new Color(0, 100, 200));
                     }
                 }
+                if(currentGame.isConflicting(row, col)) {
+                    cellButtons[row][col].setBackground(new Color(255, 200, 200));
+                }
             }
         }
     }
     private void solveGame() {
-        if(currentGame.getEmptyCellCount() != 5) {
+        if(currentGame.getEmptyCellCount() == 0) {
             JOptionPane.showMessageDialog(this,
                     "Cannot Solve\n\n" +
-                            "Solve feature is only available when exactly 5 cells are empty.\n" +
+                            "Solve feature is only available when the board has empty cells.\n" +
                             "Current empty cells: " + currentGame.getEmptyCellCount(),
                     "Cannot Solve",
                     JOptionPane.WARNING_MESSAGE);
@@ -348,87 +399,140 @@ public class SudokuGUI extends JPanel {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if(response == JOptionPane.YES_OPTION) {
+            solveButton.setText("CANCEL");
+            solveButton.setToolTipText("Cancel the running solve");
+            verifyButton.setEnabled(false);
+            statusLabel.setText("Solving...");
+            CompletableFuture<List<Move>> request = controller.solveAsync(currentGame.getBoard(), SOLVE_TIMEOUT_MILLIS,
+                    (nodes, combinations) -> SwingUtilities.invokeLater(() -> {
+                        if(pendingSolve != null) {
+                            statusLabel.setText("Solving... nodes: " + nodes + ", combinations: " + combinations);
+                        }
+                    }));
+            pendingSolve = request;
+            request.whenComplete((solution, error) ->
+                    SwingUtilities.invokeLater(() -> finishSolve(request, solution, error)));
+        }
+    }
+    private void finishSolve(CompletableFuture<List<Move>> request, List<Move> solution, Throwable error) {
+        if(pendingSolve != request) {
+            return;
+        }
+        pendingSolve = null;
+        solveButton.setText("SOLVE");
+        verifyButton.setEnabled(true);
+        statusLabel.setText("");
+        updateSolveButtonState();
+        if(request.isCancelled()) {
+            statusLabel.setText("Solve cancelled");
+            return;
+        }
+        if(error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            JOptionPane.showMessageDialog(this,
+                    "Error solving puzzle: " + cause.getMessage(),
+                    "Solve Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        for(Move move : solution) {
+            int row = move.getRow();
+            int col = move.getCol();
+            int value = move.getValue();
+            MoveRecord played = currentGame.play(row, col, value);
+            if(played == null) {
+                continue;
+            }
+            UserAction userAction = new UserAction(row, col, value, played.getPreviousValue());
             try {
-                int[][] solution = controller.solveGame(currentGame.getBoard());
-                for(int[] cell : solution) {
-                    int row = cell[0];
-                    int col = cell[1];
-                    int value = cell[2];
-                    currentGame.setCellValue(row, col, value);
-                    UserAction userAction = new UserAction(row, col, value, 0);
-                    try {
-                        controller.logUserAction(userAction);
-                    } catch (IOException ex) {
-                    }
-                }
-                updateBoardDisplay();
-                hasUnsavedChanges = true;
-                updateSolveButtonState();
-                JOptionPane.showMessageDialog(this,
-                        "Puzzle Solved!\n\n" +
-                                "All cells have been filled correctly.",
-                        "Solved",
-                        JOptionPane.INFORMATION_MESSAGE);
-            } catch (InvalidGameException e) {
-                JOptionPane.showMessageDialog(this,
-                        "Error solving puzzle: " + e.getMessage(),
-                        "Solve Error",
-                        JOptionPane.ERROR_MESSAGE);
+                controller.logUserAction(userAction);
+            } catch (IOException ex) {
             }
         }
+        updateBoardDisplay();
+        hasUnsavedChanges = true;
+        updateSolveButtonState();
+        JOptionPane.showMessageDialog(this,
+                "Puzzle Solved!\n\n" +
+                        "All cells have been filled correctly.",
+                "Solved",
+                JOptionPane.INFORMATION_MESSAGE);
     }
-    private void undoMove() {
-        File logFile = new File("games/current/log.txt");
-        if(!logFile.exists() || logFile.length() == 0) {
+    private void showHint() {
+        if(pendingSolve != null) {
+            return;
+        }
+        Hint hint = gameController.getHint(currentGame);
+        resetAllCellColors();
+        if(hint == null) {
             JOptionPane.showMessageDialog(this,
-                    "No moves to undo",
-                    "Undo",
+                    "No logical move found.\n\n" +
+                            "The board may contain a mistake or need trial and error.",
+                    "Hint",
                     JOptionPane.INFORMATION_MESSAGE);
             return;
         }
+        cellButtons[hint.getRow()][hint.getCol()].setBackground(new Color(255, 240, 150));
+        JOptionPane.showMessageDialog(this,
+                "Cell (" + (hint.getRow() + 1) + "," + (hint.getCol() + 1) + ") must be " + hint.getValue() + "\n\n" +
+                        "Technique: " + hint.getTechnique().toString().replace('_', ' ').toLowerCase(),
+                "Hint",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+    private void undoMove() {
+        if(pendingSolve != null) {
+            return;
+        }
         try {
-            List<String> lines = Files.readAllLines(logFile.toPath());
-            if(lines.isEmpty()) {
+            MoveRecord undone = gameController.undoLastMove(currentGame);
+            if(undone == null) {
                 JOptionPane.showMessageDialog(this,
                         "No moves to undo",
                         "Undo",
                         JOptionPane.INFORMATION_MESSAGE);
                 return;
             }
-            String lastLine = lines.get(lines.size() - 1);
-            lastLine = lastLine.replaceAll("[()]", "");
-            String[] parts = lastLine.split(", ");
-            if(parts.length != 4) {
-                throw new IOException("Invalid log format");
-            }
-            int row = Integer.parseInt(parts[0]);
-            int col = Integer.parseInt(parts[1]);
-            int previousValue = Integer.parseInt(parts[3]);
-            if(!currentGame.isFixedCell(row, col)) {
-                currentGame.setCellValue(row, col, previousValue);
-                lines.remove(lines.size() - 1);
-                Files.write(logFile.toPath(), lines);
-                updateBoardDisplay();
-                hasUnsavedChanges = true;
-                updateSolveButtonState();
+            updateBoardDisplay();
+            hasUnsavedChanges = true;
+            updateSolveButtonState();
+            JOptionPane.showMessageDialog(this,
+                    "Last move undone",
+                    "Undo",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error undoing move: " + e.getMessage(),
+                    "Undo Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    private void redoMove() {
+        if(pendingSolve != null) {
+            return;
+        }
+        try {
+            MoveRecord redone = gameController.redoMove(currentGame);
+            if(redone == null) {
                 JOptionPane.showMessageDialog(this,
-                        "Last move undone",
-                        "Undo",
+                        "No moves to redo",
+                        "Redo",
                         JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Cannot undo fixed clue cell",
-                        "Undo Error",
-                        JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            updateBoardDisplay();
+            hasUnsavedChanges = true;
+            updateSolveButtonState();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
-                    "Error undoing move: " + e.getMessage(),
-                    "Undo Error",
+                    "Error redoing move: " + e.getMessage(),
+                    "Redo Error",
                     JOptionPane.ERROR_MESSAGE);
         }
     }
     private void returnToMainMenu() {
+        if(pendingSolve != null) {
+            pendingSolve.cancel(true);
+        }
         if(hasUnsavedChanges) {
             int response = JOptionPane.showConfirmDialog(this,
                     "You have unsaved changes.\n" +
@@ -447,11 +551,10 @@ public class SudokuGUI extends JPanel {
         }
     }
     private void updateBoardDisplay() {
-        int[][] board = currentGame.getBoard();
-        for(int row = 0; row < 9; row++) {
-            for(int col = 0; col < 9; col++) {
+        for(int row = 0; row < currentGame.getSize(); row++) {
+            for(int col = 0; col < currentGame.getSize(); col++) {
                 JButton button = cellButtons[row][col];
-                int value = board[row][col];
+                int value = currentGame.getCellValue(row, col);
                 if(value == 0) {
                     button.setText("");
                 } else {
@@ -459,18 +562,21 @@ public class SudokuGUI extends JPanel {
                 }
             }
         }
+        resetAllCellColors();
     }
     private void updateSolveButtonState() {
         int emptyCells = currentGame.getEmptyCellCount();
-        solveButton.setEnabled(emptyCells == 5);
+        solveButton.setEnabled(emptyCells > 0);
 
-        if(emptyCells == 5) {
+        if(emptyCells > 0) {
             solveButton.setBackground(new Color(0, 180, 0));
-            solveButton.setToolTipText("Solve enabled - exactly 5 empty cells");
+            solveButton.setToolTipText("Solve enabled - " + emptyCells + " empty cells");
         } else {
             solveButton.setBackground(new Color(50, 100, 200));
-            solveButton.setToolTipText("Solve disabled - requires 5 empty cells or less (current: " + emptyCells + ")");
+            solveButton.setToolTipText("Solve disabled - board has no empty cells");
         }
+        undoButton.setEnabled(currentGame.canUndo());
+        redoButton.setEnabled(currentGame.canRedo());
     }
     public boolean hasUnsavedChanges() {
         return hasUnsavedChanges;
@@ -0,0 +1,44 @@
+package Service;
+
+import Model.BoardGeometry;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorBatchKernel implements BatchKernel {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void verify(BoardGeometry geometry, short[] block, boolean[] duplicates, boolean[] empty) {
+        int lanes = SPECIES.length();
+        int size = geometry.getSize();
+        ShortVector zero = ShortVector.zero(SPECIES);
+        ShortVector repeated = zero;
+        VectorMask<Short> missing = SPECIES.maskAll(false);
+        for (int unit = 0; unit < size; unit++) {
+            ShortVector seen = zero;
+            for (int cell : geometry.cellsOf(unit)) {
+                ShortVector bits = ShortVector.fromArray(SPECIES, block, cell * lanes);
+                repeated = repeated.or(seen.and(bits));
+                seen = seen.or(bits);
+                missing = missing.or(bits.eq((short) 0));
+            }
+        }
+        for (int unit = size; unit < geometry.getUnitCount(); unit++) {
+            ShortVector seen = zero;
+            for (int cell : geometry.cellsOf(unit)) {
+                ShortVector bits = ShortVector.fromArray(SPECIES, block, cell * lanes);
+                repeated = repeated.or(seen.and(bits));
+                seen = seen.or(bits);
+            }
+        }
+        repeated.compare(VectorOperators.NE, (short) 0).intoArray(duplicates, 0);
+        missing.intoArray(empty, 0);
+    }
+}